@@ -0,0 +1,128 @@
+package com.innowise.orderservice.client.user;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.innowise.orderservice.exception.custom.UserLookupException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+/**
+ * Read-through cache in front of user-service. Concurrent lookups of the same id share one in-flight
+ * call, single lookups that miss are merged into batches by {@link UserLookupBatcher}, and batch lookups
+ * only send the ids that are neither cached nor already being loaded, chunked by {@link UserBatchLoader}.
+ * A user missing from a batch response is requested on its own, so callers still see user-service's
+ * error for unknown ids. Callers wait at most the configured lookup timeout for a pending lookup.
+ */
+@Component
+@Primary
+public class CachingUserFeignClient implements UserFeignClient {
+
+    private static final String CACHE_NAME = "users";
+    private static final String LOOKUP_TIMED_OUT = "User lookup timed out after %d ms";
+
+    private final UserFeignClient delegate;
+    private final UserBatchLoader userBatchLoader;
+    private final UserLookupBatcher userLookupBatcher;
+    private final AsyncCache<UUID, UserResponse> cache;
+    private final Duration lookupTimeout;
+    private final Counter timeouts;
+
+    public CachingUserFeignClient(
+            @Qualifier(QUALIFIER) UserFeignClient delegate,
+            UserBatchLoader userBatchLoader,
+            UserLookupBatcher userLookupBatcher,
+            @Value("${user.cache.maximum-size:10000}") long maximumSize,
+            @Value("${user.cache.ttl:10m}") Duration timeToLive,
+            @Value("${user.lookup-timeout:2s}") Duration lookupTimeout,
+            MeterRegistry meterRegistry
+    ) {
+        this.delegate = delegate;
+        this.userBatchLoader = userBatchLoader;
+        this.userLookupBatcher = userLookupBatcher;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .buildAsync();
+        this.lookupTimeout = lookupTimeout;
+        this.timeouts = Counter.builder("user.lookup.timeouts")
+                .register(meterRegistry);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), CACHE_NAME);
+        Gauge.builder("cache.hit.ratio", cache, c -> c.synchronous().stats().hitRate())
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public UserResponse getUserById(UUID userId) {
+        UserResponse user = join(cache.get(userId, (id, executor) -> userLookupBatcher.submit(id)));
+
+        return user != null ? user : delegate.getUserById(userId);
+    }
+
+    @Override
+    public List<UserResponse> getUsersByIds(List<UUID> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+
+        Set<UUID> missingIds = new HashSet<>();
+        CompletableFuture<Map<UUID, UserResponse>> lookup = new CompletableFuture<>();
+        CompletableFuture<Map<UUID, UserResponse>> users = cache.getAll(ids, (keys, executor) -> {
+            missingIds.addAll(keys);
+            return lookup;
+        });
+
+        if (!missingIds.isEmpty()) {
+            complete(lookup, () -> userBatchLoader.load(missingIds).stream()
+                    .collect(Collectors.toMap(UserResponse::getId, Function.identity(), (first, second) -> first)));
+        }
+
+        return List.copyOf(join(users).values());
+    }
+
+    private static <T> void complete(CompletableFuture<T> future, Supplier<T> supplier) {
+        try {
+            future.complete(supplier.get());
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    private <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.get(lookupTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            throw new UserLookupException(String.format(LOOKUP_TIMED_OUT, lookupTimeout.toMillis()), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.innowise.orderservice.client.user;
+
+import com.innowise.orderservice.configuration.ExecutorConfig;
+import com.innowise.orderservice.exception.custom.UserLookupException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads users for an arbitrary number of ids. Ids are de-duplicated and split into chunks that keep
+ * each request URL bounded: every id adds about 41 bytes ({@code ids=<uuid>&}), so the default chunk of
+ * 100 stays near 4KB, well under the 8KB request line limit of Tomcat and most proxies. When there is more than one chunk, they are requested in parallel. If any
+ * chunk fails, the whole load fails with a {@link UserLookupException} that carries every chunk failure.
+ */
+@Component
+public class UserBatchLoader {
+
+    private static final String CHUNKS_FAILED = "Failed to load users: %d of %d chunks failed";
+
+    private final UserFeignClient delegate;
+    private final Executor executor;
+    private final int chunkSize;
+
+    public UserBatchLoader(
+            @Qualifier(UserFeignClient.QUALIFIER) UserFeignClient delegate,
+            @Qualifier(ExecutorConfig.VIRTUAL_THREAD_EXECUTOR) Executor executor,
+            @Value("${user.batching.chunk-size:100}") int chunkSize
+    ) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+    }
+
+    public List<UserResponse> load(Collection<UUID> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+
+        List<List<UUID>> chunks = chunk(new ArrayList<>(new LinkedHashSet<>(ids)));
+        if (chunks.size() == 1) {
+            return delegate.getUsersByIds(chunks.getFirst());
+        }
+
+        List<CompletableFuture<List<UserResponse>>> lookups = new ArrayList<>(chunks.size());
+        for (List<UUID> chunk : chunks) {
+            lookups.add(CompletableFuture.supplyAsync(() -> delegate.getUsersByIds(chunk), executor));
+        }
+
+        List<UserResponse> users = new ArrayList<>(ids.size());
+        List<Throwable> failures = new ArrayList<>();
+        for (CompletableFuture<List<UserResponse>> lookup : lookups) {
+            try {
+                users.addAll(lookup.join());
+            } catch (CompletionException e) {
+                failures.add(e.getCause() != null ? e.getCause() : e);
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            UserLookupException exception = new UserLookupException(
+                    String.format(CHUNKS_FAILED, failures.size(), chunks.size()),
+                    failures.getFirst()
+            );
+            failures.stream().skip(1).forEach(exception::addSuppressed);
+            throw exception;
+        }
+
+        return users;
+    }
+
+    private List<List<UUID>> chunk(List<UUID> ids) {
+        List<List<UUID>> chunks = new ArrayList<>((ids.size() + chunkSize - 1) / chunkSize);
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            chunks.add(ids.subList(from, Math.min(from + chunkSize, ids.size())));
+        }
+        return chunks;
+    }
+}
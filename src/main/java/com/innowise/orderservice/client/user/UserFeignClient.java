@@ -7,9 +7,16 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 
-@FeignClient(name = "user-service", url = "${user.service.url}")
+@FeignClient(
+        name = "user-service",
+        url = "${user.service.url}",
+        primary = false,
+        qualifiers = UserFeignClient.QUALIFIER
+)
 public interface UserFeignClient {
 
+    String QUALIFIER = "userServiceFeignClient";
+
     @GetMapping("/api/v1/users/{userId}")
     UserResponse getUserById(@PathVariable UUID userId);
 
@@ -0,0 +1,169 @@
+package com.innowise.orderservice.client.user;
+
+import com.innowise.orderservice.configuration.ExecutorConfig;
+import com.innowise.orderservice.security.AuthorizationContext;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Merges single-user lookups that arrive within a short window into one batch request. A batch is sent
+ * when the window elapses or when it reaches the maximum size, whichever happens first. Lookups are only
+ * merged with others carrying the same Authorization header, so every batch is sent on behalf of a
+ * caller that was allowed to make each of its lookups.
+ */
+@Component
+public class UserLookupBatcher {
+
+    private static final String NO_AUTHORIZATION = "";
+
+    private final UserBatchLoader userBatchLoader;
+    private final Executor executor;
+    private final TaskScheduler taskScheduler;
+    private final Duration window;
+    private final int maxBatchSize;
+    private final DistributionSummary batchSize;
+    private final Timer batchLatency;
+
+    private final Lock lock = new ReentrantLock();
+    private final Map<String, Batch> openBatches = new HashMap<>();
+
+    public UserLookupBatcher(
+            UserBatchLoader userBatchLoader,
+            @Qualifier(ExecutorConfig.VIRTUAL_THREAD_EXECUTOR) Executor executor,
+            @Qualifier(ExecutorConfig.USER_LOOKUP_SCHEDULER) TaskScheduler taskScheduler,
+            @Value("${user.batching.window:5ms}") Duration window,
+            @Value("${user.batching.max-batch-size:100}") int maxBatchSize,
+            MeterRegistry meterRegistry
+    ) {
+        this.userBatchLoader = userBatchLoader;
+        this.executor = executor;
+        this.taskScheduler = taskScheduler;
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+        this.batchSize = DistributionSummary.builder("user.lookup.batch.size")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchLatency = Timer.builder("user.lookup.batch.latency")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<UserResponse> submit(UUID userId) {
+        String authorization = AuthorizationContext.currentAuthorizationHeader().orElse(NO_AUTHORIZATION);
+        CompletableFuture<UserResponse> user = new CompletableFuture<>();
+
+        Batch fullBatch = null;
+        lock.lock();
+        try {
+            Batch batch = openBatches.get(authorization);
+            if (batch == null) {
+                batch = new Batch(authorization, SecurityContextHolder.getContext());
+                openBatches.put(authorization, batch);
+
+                Batch scheduledBatch = batch;
+                taskScheduler.schedule(() -> flush(scheduledBatch), Instant.now().plus(window));
+            }
+
+            batch.add(userId, user);
+
+            if (batch.size() >= maxBatchSize) {
+                openBatches.remove(authorization);
+                fullBatch = batch;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (fullBatch != null) {
+            dispatch(fullBatch);
+        }
+
+        return user;
+    }
+
+    private void flush(Batch batch) {
+        lock.lock();
+        try {
+            if (!openBatches.remove(batch.authorization, batch)) {
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        dispatch(batch);
+    }
+
+    private void dispatch(Batch batch) {
+        Runnable lookup = () -> {
+            Timer.Sample sample = Timer.start();
+            try {
+                List<UserResponse> users = userBatchLoader.load(batch.lookups.keySet());
+                batch.complete(users);
+            } catch (RuntimeException e) {
+                batch.fail(e);
+            } finally {
+                sample.stop(batchLatency);
+                batchSize.record(batch.size());
+            }
+        };
+
+        executor.execute(new DelegatingSecurityContextRunnable(lookup, batch.securityContext));
+    }
+
+    private static final class Batch {
+
+        private final String authorization;
+        private final SecurityContext securityContext;
+        private final Map<UUID, List<CompletableFuture<UserResponse>>> lookups = new LinkedHashMap<>();
+
+        private Batch(String authorization, SecurityContext securityContext) {
+            this.authorization = authorization;
+            this.securityContext = securityContext;
+        }
+
+        private void add(UUID userId, CompletableFuture<UserResponse> user) {
+            lookups.computeIfAbsent(userId, id -> new ArrayList<>(1)).add(user);
+        }
+
+        private int size() {
+            return lookups.size();
+        }
+
+        private void complete(List<UserResponse> users) {
+            Map<UUID, UserResponse> usersById = HashMap.newHashMap(users.size());
+            for (UserResponse user : users) {
+                usersById.put(user.getId(), user);
+            }
+
+            lookups.forEach((userId, futures) -> {
+                UserResponse user = usersById.get(userId);
+                futures.forEach(future -> future.complete(user));
+            });
+        }
+
+        private void fail(RuntimeException e) {
+            lookups.values().forEach(futures -> futures.forEach(future -> future.completeExceptionally(e)));
+        }
+    }
+}
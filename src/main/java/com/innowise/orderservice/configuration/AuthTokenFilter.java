@@ -1,30 +1,25 @@
 package com.innowise.orderservice.configuration;
 
+import com.innowise.orderservice.security.TokenVerifier;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.Collections;
-import java.util.Map;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 @Component
 @RequiredArgsConstructor
 class AuthTokenFilter extends OncePerRequestFilter {
 
-    private final RestTemplate restTemplate;
-
-    @Value("${authservice.api.url}")
-    private String authServiceUrl;
+    private final TokenVerifier tokenVerifier;
 
     @Override
     protected void doFilterInternal(
@@ -49,15 +44,7 @@ class AuthTokenFilter extends OncePerRequestFilter {
         String token = header.substring(7);
 
         try {
-            Map<String, String> body = Map.of("token", token);
-
-            TokenValidationResponse validationResponse = restTemplate.postForObject(
-                    authServiceUrl,
-                    body,
-                    TokenValidationResponse.class
-            );
-
-            if (validationResponse != null && validationResponse.success()) {
+            if (tokenVerifier.verify(token)) {
 
                 UsernamePasswordAuthenticationToken auth =
                         new UsernamePasswordAuthenticationToken(
@@ -76,6 +63,4 @@ class AuthTokenFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
-
-    public record TokenValidationResponse(boolean success) {}
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.innowise.orderservice.configuration;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+
+@Configuration
+public class ExecutorConfig {
+
+    public static final String VIRTUAL_THREAD_EXECUTOR = "virtualThreadTaskExecutor";
+    public static final String USER_LOOKUP_SCHEDULER = "userLookupScheduler";
+
+    @Bean(VIRTUAL_THREAD_EXECUTOR)
+    public AsyncTaskExecutor virtualThreadTaskExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("virtual-");
+        executor.setVirtualThreads(true);
+        executor.setTaskDecorator(DelegatingSecurityContextRunnable::new);
+        return executor;
+    }
+
+    /**
+     * Fires the user lookup batch windows. It is kept apart from the shared scheduler, whose scheduled jobs
+     * may block for seconds, and is only injected where it is asked for by name.
+     */
+    @Bean(name = USER_LOOKUP_SCHEDULER, defaultCandidate = false)
+    public TaskScheduler userLookupScheduler() {
+        SimpleAsyncTaskScheduler scheduler = new SimpleAsyncTaskScheduler();
+        scheduler.setThreadNamePrefix("user-lookup-");
+        scheduler.setVirtualThreads(true);
+        return scheduler;
+    }
+
+}
@@ -1,29 +1,18 @@
 package com.innowise.orderservice.configuration;
 
+import com.innowise.orderservice.security.AuthorizationContext;
 import feign.RequestInterceptor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.http.HttpHeaders;
 
 @Configuration
 public class FeignClientConfig {
 
     @Bean
     public RequestInterceptor headerForwardingInterceptor() {
-        return template -> {
-            ServletRequestAttributes attrs = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
-            if (attrs == null) {
-                return;
-            }
-
-            String token = attrs.getRequest().getHeader("Authorization");
-            if (token == null) {
-                return;
-            }
-
-            template.header("Authorization", token);
-        };
+        return template -> AuthorizationContext.currentAuthorizationHeader()
+                .ifPresent(token -> template.header(HttpHeaders.AUTHORIZATION, token));
     }
 
 }
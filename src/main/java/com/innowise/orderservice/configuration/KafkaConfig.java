@@ -0,0 +1,116 @@
+package com.innowise.orderservice.configuration;
+
+import com.innowise.orderservice.kafka.serialization.EventSerializer;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.CommonErrorHandler;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.retrytopic.RetryTopicBeanNames;
+import org.springframework.kafka.support.ExponentialBackOffWithMaxRetries;
+import org.springframework.kafka.support.serializer.DelegatingByTypeSerializer;
+
+@Configuration
+public class KafkaConfig {
+
+    public static final String DEAD_LETTER_PRODUCER_FACTORY = "deadLetterProducerFactory";
+    public static final String PAYMENT_DEAD_LETTER_RECOVERER = "paymentDeadLetterRecoverer";
+    public static final String PAYMENT_ERROR_HANDLER = "paymentErrorHandler";
+    public static final String PAYMENT_LISTENER_CONTAINER_FACTORY = "paymentListenerContainerFactory";
+    public static final String DLT_SUFFIX = "-dlt";
+
+    /**
+     * Producer for forwarded records, with the application producer settings. Values that failed
+     * deserialization arrive as their raw bytes and are written unchanged; anything else goes through
+     * {@link EventSerializer}.
+     */
+    @Bean(name = DEAD_LETTER_PRODUCER_FACTORY, defaultCandidate = false)
+    public ProducerFactory<Object, Object> deadLetterProducerFactory(ProducerFactory<Object, Object> producerFactory) {
+        return new DefaultKafkaProducerFactory<>(
+                producerFactory.getConfigurationProperties(),
+                null,
+                deadLetterValueSerializer()
+        );
+    }
+
+    /**
+     * Picked up by name for the retry and dead-letter topics of {@code @RetryableTopic} listeners.
+     */
+    @Bean(name = RetryTopicBeanNames.DEFAULT_KAFKA_TEMPLATE_BEAN_NAME, defaultCandidate = false)
+    public KafkaTemplate<Object, Object> retryTopicKafkaTemplate(
+            @Qualifier(DEAD_LETTER_PRODUCER_FACTORY) ProducerFactory<Object, Object> deadLetterProducerFactory
+    ) {
+        return new KafkaTemplate<>(deadLetterProducerFactory);
+    }
+
+    @Bean(name = PAYMENT_DEAD_LETTER_RECOVERER, defaultCandidate = false)
+    public DeadLetterPublishingRecoverer paymentDeadLetterRecoverer(
+            @Qualifier(RetryTopicBeanNames.DEFAULT_KAFKA_TEMPLATE_BEAN_NAME) KafkaTemplate<Object, Object> kafkaTemplate
+    ) {
+        return new DeadLetterPublishingRecoverer(
+                kafkaTemplate,
+                (consumerRecord, exception) -> new TopicPartition(consumerRecord.topic() + DLT_SUFFIX, -1)
+        );
+    }
+
+    /**
+     * Retries a failed payment batch from the failed record with exponential backoff, and dead-letters that
+     * record once the retries run out. Data errors that no retry can fix are dead-lettered at once, while a
+     * lost database connection is retried like any other failure.
+     */
+    @Bean(name = PAYMENT_ERROR_HANDLER, defaultCandidate = false)
+    public DefaultErrorHandler paymentErrorHandler(
+            @Qualifier(PAYMENT_DEAD_LETTER_RECOVERER) DeadLetterPublishingRecoverer deadLetterRecoverer,
+            @Value("${kafka.consumer.retry.max-retries:15}") int maxRetries,
+            @Value("${kafka.consumer.retry.initial-interval:1s}") Duration initialInterval,
+            @Value("${kafka.consumer.retry.multiplier:2}") double multiplier,
+            @Value("${kafka.consumer.retry.max-interval:30s}") Duration maxInterval
+    ) {
+        ExponentialBackOffWithMaxRetries backOff = new ExponentialBackOffWithMaxRetries(maxRetries);
+        backOff.setInitialInterval(initialInterval.toMillis());
+        backOff.setMultiplier(multiplier);
+        backOff.setMaxInterval(maxInterval.toMillis());
+
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler(deadLetterRecoverer, backOff);
+        errorHandler.addNotRetryableExceptions(NonTransientDataAccessException.class);
+        errorHandler.addRetryableExceptions(DataAccessResourceFailureException.class);
+        return errorHandler;
+    }
+
+    @Bean(name = PAYMENT_LISTENER_CONTAINER_FACTORY, defaultCandidate = false)
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> paymentListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory,
+            @Qualifier(PAYMENT_ERROR_HANDLER) CommonErrorHandler errorHandler
+    ) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.setCommonErrorHandler(errorHandler);
+        return factory;
+    }
+
+    static Serializer<Object> deadLetterValueSerializer() {
+        Map<Class<?>, Serializer<?>> delegates = new LinkedHashMap<>();
+        delegates.put(byte[].class, new ByteArraySerializer());
+        delegates.put(Object.class, new EventSerializer());
+        return new DelegatingByTypeSerializer(delegates, true);
+    }
+
+}
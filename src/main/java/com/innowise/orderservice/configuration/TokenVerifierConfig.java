@@ -0,0 +1,90 @@
+package com.innowise.orderservice.configuration;
+
+import com.innowise.orderservice.security.CachingTokenVerifier;
+import com.innowise.orderservice.security.JwkSetProvider;
+import com.innowise.orderservice.security.JwtTokenVerifier;
+import com.innowise.orderservice.security.RemoteTokenVerifier;
+import com.innowise.orderservice.security.TokenVerifier;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.web.client.RestTemplate;
+
+@Configuration
+public class TokenVerifierConfig {
+
+    private static final String VERIFICATION_MODE = "authservice.verification-mode";
+
+    @Value("${authservice.api.url}")
+    private String authServiceUrl;
+
+    @Value("${authservice.token-cache.maximum-size:10000}")
+    private long tokenCacheMaximumSize;
+
+    @Value("${authservice.token-cache.ttl:5m}")
+    private Duration tokenCacheTtl;
+
+    @Bean
+    @ConditionalOnProperty(name = VERIFICATION_MODE, havingValue = "remote", matchIfMissing = true)
+    public TokenVerifier tokenVerifier(RestTemplate restTemplate, MeterRegistry meterRegistry) {
+        return remoteTokenVerifier(restTemplate, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = VERIFICATION_MODE, havingValue = "local")
+    public JwkSetProvider jwkSetProvider(
+            ResourceLoader resourceLoader,
+            TaskScheduler taskScheduler,
+            @Value("${authservice.jwt.jwk-set-uri}") String jwkSetUri,
+            @Value("${authservice.jwt.jwk-set-refresh-interval:5m}") Duration refreshInterval
+    ) {
+        requireForLocalVerification("authservice.jwt.jwk-set-uri", jwkSetUri);
+
+        JwkSetProvider jwkSetProvider = new JwkSetProvider(resourceLoader.getResource(jwkSetUri));
+        taskScheduler.scheduleWithFixedDelay(
+                jwkSetProvider::refresh,
+                Instant.now().plus(refreshInterval),
+                refreshInterval
+        );
+        return jwkSetProvider;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = VERIFICATION_MODE, havingValue = "local")
+    public TokenVerifier localTokenVerifier(
+            JwkSetProvider jwkSetProvider,
+            RestTemplate restTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${authservice.jwt.issuer}") String issuer
+    ) {
+        requireForLocalVerification("authservice.jwt.issuer", issuer);
+
+        return new JwtTokenVerifier(jwkSetProvider, issuer, remoteTokenVerifier(restTemplate, meterRegistry));
+    }
+
+    /**
+     * A blank issuer would reject every token at runtime, and a blank key set location would hand every
+     * token to the remote fallback, so local verification refuses to start without them.
+     */
+    private static void requireForLocalVerification(String property, String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalStateException(property + " must be set when " + VERIFICATION_MODE + " is local");
+        }
+    }
+
+    private TokenVerifier remoteTokenVerifier(RestTemplate restTemplate, MeterRegistry meterRegistry) {
+        return new CachingTokenVerifier(
+                new RemoteTokenVerifier(restTemplate, authServiceUrl),
+                tokenCacheMaximumSize,
+                tokenCacheTtl,
+                meterRegistry
+        );
+    }
+
+}
@@ -1,15 +1,21 @@
 package com.innowise.orderservice.controller;
 
 import com.innowise.orderservice.dto.request.OrderRequest;
+import com.innowise.orderservice.dto.response.OrderPageResponse;
 import com.innowise.orderservice.dto.response.OrderResponse;
+import com.innowise.orderservice.model.enums.ExportFormat;
 import com.innowise.orderservice.model.enums.Status;
+import com.innowise.orderservice.service.OrderExportService;
 import com.innowise.orderservice.service.OrderService;
 import jakarta.validation.Valid;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -20,6 +26,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1/orders")
@@ -27,6 +34,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderExportService orderExportService;
 
     @GetMapping("/{id}")
     public ResponseEntity<OrderResponse> getById(@PathVariable UUID id) {
@@ -34,8 +42,26 @@ public class OrderController {
     }
 
     @GetMapping
-    public ResponseEntity<List<OrderResponse>> getByStatus(@RequestParam Status status) {
-        return ResponseEntity.ok(orderService.findByStatus(status));
+    public ResponseEntity<OrderPageResponse> getByStatus(
+            @RequestParam Status status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(orderService.findPageByStatus(status, cursor, size));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) Status status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format
+    ) {
+        StreamingResponseBody body = outputStream -> orderExportService.export(status, from, to, format, outputStream);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .body(body);
     }
 
     @GetMapping("/batch")
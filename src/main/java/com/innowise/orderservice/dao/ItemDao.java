@@ -9,6 +9,9 @@ import java.util.UUID;
 import org.springframework.jdbc.core.RowMapper;
 
 public interface ItemDao {
+
+    String QUALIFIER = "jdbcItemDao";
+
     RowMapper<Item> ROW_MAPPER = (ResultSet resultSet, int rowNum) -> Item.builder()
             .id(UUID.fromString(resultSet.getString("id")))
             .name(resultSet.getString("name"))
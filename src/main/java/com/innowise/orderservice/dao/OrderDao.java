@@ -1,13 +1,18 @@
 package com.innowise.orderservice.dao;
 
 import com.innowise.orderservice.model.Order;
+import com.innowise.orderservice.model.OrderAggregate;
+import com.innowise.orderservice.model.OrderCursor;
 import com.innowise.orderservice.model.enums.Status;
+import com.innowise.orderservice.model.enums.StatusTransition;
 import java.sql.ResultSet;
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 import org.springframework.jdbc.core.RowMapper;
 
 public interface OrderDao {
@@ -16,16 +21,24 @@ public interface OrderDao {
             .userId(UUID.fromString(resultSet.getString("user_id")))
             .status(Status.valueOf(resultSet.getString("status")))
             .creationDate(resultSet.getObject("creation_date", OffsetDateTime.class))
+            .total(resultSet.getBigDecimal("total"))
             .build();
 
     Optional<Order> findById(UUID id);
+    Optional<OrderAggregate> findAggregateById(UUID id);
     List<Order> findByStatus(Status status);
+    List<Order> findPageByStatus(Status status, OrderCursor after, int limit);
     List<Order> findByIds(Set<UUID> ids);
+    void streamByFilter(Status status, OffsetDateTime from, OffsetDateTime to, int fetchSize, Consumer<Order> consumer);
     Order create(Order order);
     Order updateById(UUID id, Order order);
+    int backfillTotals(int limit);
+    Map<UUID, StatusTransition> transitionStatuses(Map<UUID, Status> targets);
     void deleteById(UUID id);
     Optional<Order> findByIdAndUserId(UUID id, UUID userId);
+    Optional<OrderAggregate> findAggregateByIdAndUserId(UUID id, UUID userId);
     List<Order> findByUserId(UUID userId);
+    List<Order> findPageByUserId(UUID userId, OrderCursor after, int limit);
     Optional<Order> updateByIdAndUserId(UUID id, UUID userId, Order order);
     void deleteByIdAndUser(UUID id, UUID userId);
     List<Order> findByStatusAndUserId(Status status, UUID userId);
@@ -1,6 +1,8 @@
 package com.innowise.orderservice.dao;
 
+import com.innowise.orderservice.model.Item;
 import com.innowise.orderservice.model.OrderItem;
+import com.innowise.orderservice.model.OrderLine;
 import java.sql.ResultSet;
 import java.util.List;
 import java.util.Optional;
@@ -14,11 +16,28 @@ public interface OrderItemDao {
             .orderId(UUID.fromString(resultSet.getString("order_id")))
             .itemId(UUID.fromString(resultSet.getString("item_id")))
             .quantity(resultSet.getInt("quantity"))
+            .unitPrice(resultSet.getBigDecimal("unit_price"))
+            .build();
+
+    RowMapper<OrderLine> LINE_ROW_MAPPER = (ResultSet resultSet, int rowNum) -> OrderLine.builder()
+            .orderItem(OrderItem.builder()
+                    .id(UUID.fromString(resultSet.getString("order_item_id")))
+                    .orderId(UUID.fromString(resultSet.getString("order_id")))
+                    .itemId(UUID.fromString(resultSet.getString("item_id")))
+                    .quantity(resultSet.getInt("quantity"))
+                    .unitPrice(resultSet.getBigDecimal("unit_price"))
+                    .build())
+            .item(Item.builder()
+                    .id(UUID.fromString(resultSet.getString("item_id")))
+                    .name(resultSet.getString("item_name"))
+                    .price(resultSet.getBigDecimal("item_price"))
+                    .build())
             .build();
 
     Optional<OrderItem> findById(UUID id);
     List<OrderItem> findByOrderId(UUID orderId);
     List<OrderItem> findByOrderIds(Set<UUID> orderIds);
+    List<OrderLine> findLinesByOrderIds(Set<UUID> orderIds);
     List<OrderItem> findByItemId(UUID itemId);
     Optional<OrderItem> findByOrderIdAndItemId(UUID orderId, UUID itemId);
     List<OrderItem> createAll(List<OrderItem> orderItems);
@@ -0,0 +1,22 @@
+package com.innowise.orderservice.dao;
+
+import com.innowise.orderservice.model.OrderOutboxEntry;
+import java.sql.ResultSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.jdbc.core.RowMapper;
+
+public interface OrderOutboxDao {
+    RowMapper<OrderOutboxEntry> ROW_MAPPER = (ResultSet resultSet, int rowNum) -> OrderOutboxEntry.builder()
+            .id(UUID.fromString(resultSet.getString("id")))
+            .orderId(UUID.fromString(resultSet.getString("order_id")))
+            .userId(UUID.fromString(resultSet.getString("user_id")))
+            .total(resultSet.getBigDecimal("total"))
+            .build();
+
+    void create(OrderOutboxEntry entry);
+    List<OrderOutboxEntry> lockNextBatch(int limit);
+    void deleteByIds(Collection<UUID> ids);
+    double findOldestEntryAgeSeconds();
+}
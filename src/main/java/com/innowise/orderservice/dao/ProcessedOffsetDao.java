@@ -0,0 +1,9 @@
+package com.innowise.orderservice.dao;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface ProcessedOffsetDao {
+    Map<Integer, Long> findLastOffsets(String topic, Collection<Integer> partitions);
+    void saveLastOffsets(String topic, Map<Integer, Long> lastOffsets);
+}
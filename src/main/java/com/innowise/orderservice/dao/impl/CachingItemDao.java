@@ -0,0 +1,184 @@
+package com.innowise.orderservice.dao.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.innowise.orderservice.dao.ItemDao;
+import com.innowise.orderservice.model.Item;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Near-cache in front of the items table. Lookups by id are served from memory; writes drop the entry
+ * once their transaction commits and send a {@code NOTIFY} on {@link #INVALIDATION_CHANNEL}, which
+ * PostgreSQL delivers to {@link ItemInvalidationListener} on every instance only after the commit.
+ * Entries also expire after the configured TTL, which bounds staleness if a notification is missed.
+ * Every invalidation bumps a generation counter, and a load that overlapped one is dropped from the cache
+ * again, so a row read just before a commit cannot outlive that commit's invalidation.
+ */
+@Repository
+@Primary
+public class CachingItemDao implements ItemDao {
+
+    static final String INVALIDATION_CHANNEL = "item_invalidation";
+    static final String INVALIDATE_ALL = "*";
+
+    private static final String CACHE_NAME = "items";
+
+    private static final class SQL {
+        static final String NOTIFY = "select pg_notify(?, ?)";
+    }
+
+    private final ItemDao delegate;
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache<UUID, Item> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    public CachingItemDao(
+            @Qualifier(QUALIFIER) ItemDao delegate,
+            JdbcTemplate jdbcTemplate,
+            @Value("${item.cache.maximum-size:10000}") long maximumSize,
+            @Value("${item.cache.ttl:10m}") Duration timeToLive,
+            MeterRegistry meterRegistry
+    ) {
+        this.delegate = delegate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public List<Item> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Optional<Item> findById(UUID id) {
+        Item cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        long loadGeneration = generation.get();
+        Optional<Item> loaded = delegate.findById(id);
+        loaded.ifPresent(item -> cacheLoaded(List.of(item), loadGeneration));
+        return loaded;
+    }
+
+    @Override
+    public List<Item> findByIds(Set<UUID> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<UUID, Item> cached = cache.getAllPresent(ids);
+        if (cached.size() == ids.size()) {
+            return List.copyOf(cached.values());
+        }
+
+        Set<UUID> missingIds = ids.stream()
+                .filter(id -> !cached.containsKey(id))
+                .collect(Collectors.toSet());
+
+        long loadGeneration = generation.get();
+        List<Item> loaded = delegate.findByIds(missingIds);
+        cacheLoaded(loaded, loadGeneration);
+
+        List<Item> items = new ArrayList<>(cached.size() + loaded.size());
+        items.addAll(cached.values());
+        items.addAll(loaded);
+        return items;
+    }
+
+    @Override
+    public Item create(Item item) {
+        Item createdItem = delegate.create(item);
+        invalidateOnCommit(createdItem.getId());
+        return createdItem;
+    }
+
+    @Override
+    public Item updateById(UUID id, Item item) {
+        Item updatedItem = delegate.updateById(id, item);
+        invalidateOnCommit(id);
+        return updatedItem;
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        delegate.deleteById(id);
+        invalidateOnCommit(id);
+    }
+
+    void invalidate(String payload) {
+        generation.incrementAndGet();
+        if (INVALIDATE_ALL.equals(payload)) {
+            cache.invalidateAll();
+            return;
+        }
+
+        try {
+            cache.invalidate(UUID.fromString(payload));
+        } catch (IllegalArgumentException e) {
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * Caches rows read by a load that started at {@code loadGeneration}. The rows are put first and the
+     * generation is checked afterwards: an invalidation that ran in between has either bumped the counter
+     * already, and the rows are dropped here, or runs after the put and drops them itself.
+     */
+    private void cacheLoaded(List<Item> items, long loadGeneration) {
+        items.forEach(item -> cache.put(item.getId(), item));
+
+        if (generation.get() != loadGeneration) {
+            items.forEach(item -> cache.invalidate(item.getId()));
+        }
+    }
+
+    private void invalidateOnCommit(UUID id) {
+        jdbcTemplate.queryForList(SQL.NOTIFY, INVALIDATION_CHANNEL, id.toString());
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(id);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(id);
+            }
+        });
+    }
+
+    private void evict(UUID id) {
+        generation.incrementAndGet();
+        cache.invalidate(id);
+    }
+}
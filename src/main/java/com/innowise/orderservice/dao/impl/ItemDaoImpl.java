@@ -2,7 +2,6 @@ package com.innowise.orderservice.dao.impl;
 
 import com.innowise.orderservice.dao.ItemDao;
 import com.innowise.orderservice.model.Item;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -11,21 +10,25 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.SqlArrayValue;
 import org.springframework.stereotype.Repository;
+import org.springframework.util.IdGenerator;
 
-@Repository
+@Repository(ItemDao.QUALIFIER)
 @RequiredArgsConstructor
 public class ItemDaoImpl implements ItemDao {
 
+    private static final String UUID_TYPE = "uuid";
+
     private static final class SQL {
         static final String GET_ALL = "select * from items";
         static final String GET_BY_ID = "select * from items where id = ?";
-        static final String GET_BY_IDS = "select * from items where id in (%s)";
+        static final String GET_BY_IDS = "select * from items where id = any(?)";
 
         static final String CREATE =
                 """
-                insert into items (name, price)
-                values (?, ?)
+                insert into items (id, name, price)
+                values (?, ?, ?)
                 returning *
                 """;
         static final String UPDATE_BY_ID =
@@ -41,6 +44,7 @@ public class ItemDaoImpl implements ItemDao {
     }
 
     private final JdbcTemplate jdbcTemplate;
+    private final IdGenerator idGenerator;
 
     @Override
     public List<Item> findAll() {
@@ -63,10 +67,7 @@ public class ItemDaoImpl implements ItemDao {
             return List.of();
         }
 
-        String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
-        String sql = String.format(SQL.GET_BY_IDS, placeholders);
-
-        return jdbcTemplate.query(sql, ROW_MAPPER, ids.toArray());
+        return jdbcTemplate.query(SQL.GET_BY_IDS, ROW_MAPPER, new SqlArrayValue(UUID_TYPE, ids.toArray()));
     }
 
     @Override
@@ -74,6 +75,7 @@ public class ItemDaoImpl implements ItemDao {
         return jdbcTemplate.queryForObject(
                 SQL.CREATE,
                 ROW_MAPPER,
+                idGenerator.generateId(),
                 item.getName(),
                 item.getPrice()
         );
@@ -0,0 +1,107 @@
+package com.innowise.orderservice.dao.impl;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps one connection subscribed to {@link CachingItemDao#INVALIDATION_CHANNEL} and drops the items
+ * that other instances (or this one) changed. Notifications sent while the connection was down are
+ * lost, so the whole cache is cleared every time the subscription is re-established.
+ *
+ * <p>The connection is opened outside the pool and closed on reconnect and stop, so a subscribed session
+ * is never handed to other callers: one that is subscribed but never read holds back cleanup of the
+ * server's notification queue, and {@code pg_notify} fails once that queue is full.
+ */
+@Slf4j
+@Component
+public class ItemInvalidationListener implements SmartLifecycle {
+
+    private static final String LISTEN = "listen " + CachingItemDao.INVALIDATION_CHANNEL;
+
+    private final JdbcConnectionDetails connectionDetails;
+    private final CachingItemDao cachingItemDao;
+    private final Duration pollTimeout;
+    private final Duration reconnectDelay;
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public ItemInvalidationListener(
+            JdbcConnectionDetails connectionDetails,
+            CachingItemDao cachingItemDao,
+            @Value("${item.cache.listen.poll-timeout:1s}") Duration pollTimeout,
+            @Value("${item.cache.listen.reconnect-delay:5s}") Duration reconnectDelay
+    ) {
+        this.connectionDetails = connectionDetails;
+        this.cachingItemDao = cachingItemDao;
+        this.pollTimeout = pollTimeout;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        listenerThread = Thread.ofPlatform()
+                .name("item-invalidation-listener")
+                .daemon()
+                .start(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        listenerThread.interrupt();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(
+                    connectionDetails.getJdbcUrl(), connectionDetails.getUsername(), connectionDetails.getPassword());
+                 Statement statement = connection.createStatement()) {
+                statement.execute(LISTEN);
+                cachingItemDao.invalidate(CachingItemDao.INVALIDATE_ALL);
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) pollTimeout.toMillis());
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        cachingItemDao.invalidate(notification.getParameter());
+                    }
+                }
+            } catch (SQLException | DataAccessException e) {
+                if (running) {
+                    log.warn("Item invalidation subscription lost, retrying in {}", reconnectDelay, e);
+                    pause();
+                }
+            }
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(reconnectDelay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -1,49 +1,156 @@
 package com.innowise.orderservice.dao.impl;
 
 import com.innowise.orderservice.dao.OrderDao;
+import com.innowise.orderservice.dao.OrderItemDao;
 import com.innowise.orderservice.model.Order;
+import com.innowise.orderservice.model.OrderAggregate;
+import com.innowise.orderservice.model.OrderCursor;
+import com.innowise.orderservice.model.OrderLine;
 import com.innowise.orderservice.model.enums.Status;
-import java.util.Collections;
+import com.innowise.orderservice.model.enums.StatusTransition;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.SqlArrayValue;
 import org.springframework.stereotype.Repository;
+import org.springframework.util.IdGenerator;
 
 @Repository
 @RequiredArgsConstructor
 public class OrderDaoImpl implements OrderDao {
 
+    private static final String UUID_TYPE = "uuid";
+    private static final String VARCHAR_TYPE = "varchar";
+
     private static final class SQL {
         static final String GET_BY_ID = "select * from orders where id = ?";
         static final String GET_BY_STATUS = "select * from orders where status = ?";
-        static final String GET_BY_IDS = "select * from orders where id in (%s)";
+        static final String GET_PAGE_BY_STATUS =
+                """
+                select * from orders
+                where status = ?
+                order by creation_date desc, id desc
+                limit ?
+                """;
+        static final String GET_PAGE_BY_STATUS_AFTER =
+                """
+                select * from orders
+                where status = ? and (creation_date, id) < (?, ?)
+                order by creation_date desc, id desc
+                limit ?
+                """;
+        static final String GET_BY_IDS = "select * from orders where id = any(?)";
+        static final String STREAM = "select * from orders";
+        static final String STREAM_ORDER_BY = " order by creation_date, id";
+        static final String FILTER_BY_STATUS = "status = ?";
+        static final String FILTER_CREATED_FROM = "creation_date >= ?";
+        static final String FILTER_CREATED_BEFORE = "creation_date < ?";
+        static final String GET_AGGREGATE_BY_ID =
+                """
+                select o.*, oi.id as order_item_id, oi.order_id, oi.item_id, oi.quantity, oi.unit_price,
+                       i.name as item_name, coalesce(oi.unit_price, i.price) as item_price
+                from orders o
+                left join order_items oi on oi.order_id = o.id
+                left join items i on i.id = oi.item_id
+                where o.id = ?
+                """;
+        static final String GET_AGGREGATE_BY_ID_AND_USER_ID = GET_AGGREGATE_BY_ID + " and o.user_id = ?";
 
         static final String CREATE =
                 """
-                insert into orders (user_id, status, creation_date)
-                values (?, ?, CURRENT_TIMESTAMP)
+                insert into orders (id, user_id, status, creation_date, total)
+                values (?, ?, ?, CURRENT_TIMESTAMP, ?)
                 returning *
                 """;
+        static final String BACKFILL_TOTALS =
+                """
+                with batch as (
+                    select id from orders
+                    where total is null
+                    order by id
+                    limit ?
+                    for update skip locked
+                ), snapshot as (
+                    update order_items oi
+                    set unit_price = i.price
+                    from items i
+                    where oi.order_id in (select id from batch)
+                      and i.id = oi.item_id
+                      and oi.unit_price is null
+                )
+                update orders o
+                set total = coalesce((
+                    select sum(coalesce(oi.unit_price, i.price) * oi.quantity)
+                    from order_items oi
+                    join items i on i.id = oi.item_id
+                    where oi.order_id = o.id
+                ), 0)
+                where o.id in (select id from batch)
+                """;
         static final String UPDATE_BY_ID =
                 """
                 update orders
                 set user_id = ?,
-                    status = ?
+                    total = coalesce(?, total)
                 where id = ?
                 returning *
                 """;
+        static final String TRANSITION_STATUSES =
+                """
+                with targets as (
+                    select * from unnest(?::uuid[], ?::varchar[]) as t(id, status)
+                ), transitions as (
+                    select * from unnest(?::varchar[], ?::varchar[]) as a(source, target)
+                ), applied as (
+                    update orders o
+                    set status = t.status
+                    from targets t
+                    where o.id = t.id
+                      and exists (select 1 from transitions a where a.source = o.status and a.target = t.status)
+                    returning o.id
+                )
+                select t.id, t.status as target_status, o.status as previous_status, a.id is not null as applied
+                from targets t
+                left join orders o on o.id = t.id
+                left join applied a on a.id = t.id
+                """;
 
         static final String DELETE_BY_ID = "delete from orders where id = ?";
 
         static final String GET_BY_ID_AND_USER_ID = "select * from orders where id = ? and user_id = ?";
         static final String GET_BY_USER_ID = "select * from orders where user_id = ?";
+        static final String GET_PAGE_BY_USER_ID =
+                """
+                select * from orders
+                where user_id = ?
+                order by creation_date desc, id desc
+                limit ?
+                """;
+        static final String GET_PAGE_BY_USER_ID_AFTER =
+                """
+                select * from orders
+                where user_id = ? and (creation_date, id) < (?, ?)
+                order by creation_date desc, id desc
+                limit ?
+                """;
         static final String GET_BY_STATUS_AND_USER = "select * from orders where status = ? and user_id = ?";
-        static final String GET_BY_IDS_AND_USER = "select * from orders where id in (%s) and user_id = ?";
+        static final String GET_BY_IDS_AND_USER = "select * from orders where id = any(?) and user_id = ?";
 
         static final String UPDATE_BY_ID_AND_USER_ID =
                 """
@@ -57,7 +164,41 @@ public class OrderDaoImpl implements OrderDao {
 
     }
 
+    private static final ResultSetExtractor<Optional<OrderAggregate>> AGGREGATE_EXTRACTOR = resultSet -> {
+        if (!resultSet.next()) {
+            return Optional.empty();
+        }
+
+        Order order = ROW_MAPPER.mapRow(resultSet, 0);
+        List<OrderLine> lines = new ArrayList<>();
+        int rowNum = 0;
+        do {
+            if (resultSet.getString("order_item_id") != null) {
+                lines.add(OrderItemDao.LINE_ROW_MAPPER.mapRow(resultSet, rowNum++));
+            }
+        } while (resultSet.next());
+
+        return Optional.of(new OrderAggregate(order, lines));
+    };
+
+    private static final String[] TRANSITION_SOURCES;
+    private static final String[] TRANSITION_TARGETS;
+
+    static {
+        List<String> sources = new ArrayList<>();
+        List<String> targets = new ArrayList<>();
+        for (Status source : Status.values()) {
+            for (Status target : source.nextStatuses()) {
+                sources.add(source.name());
+                targets.add(target.name());
+            }
+        }
+        TRANSITION_SOURCES = sources.toArray(String[]::new);
+        TRANSITION_TARGETS = targets.toArray(String[]::new);
+    }
+
     private final JdbcTemplate jdbcTemplate;
+    private final IdGenerator idGenerator;
 
     @Override
     public Optional<Order> findById(UUID id) {
@@ -69,21 +210,79 @@ public class OrderDaoImpl implements OrderDao {
         }
     }
 
+    @Override
+    public Optional<OrderAggregate> findAggregateById(UUID id) {
+        return jdbcTemplate.query(SQL.GET_AGGREGATE_BY_ID, AGGREGATE_EXTRACTOR, id);
+    }
+
     @Override
     public List<Order> findByStatus(Status status) {
         return jdbcTemplate.query(SQL.GET_BY_STATUS, ROW_MAPPER, status.name());
     }
 
+    @Override
+    public List<Order> findPageByStatus(Status status, OrderCursor after, int limit) {
+        if (after == null) {
+            return jdbcTemplate.query(SQL.GET_PAGE_BY_STATUS, ROW_MAPPER, status.name(), limit);
+        }
+
+        return jdbcTemplate.query(
+                SQL.GET_PAGE_BY_STATUS_AFTER,
+                ROW_MAPPER,
+                status.name(),
+                toTimestamp(after.creationDate()),
+                after.id(),
+                limit
+        );
+    }
+
     @Override
     public List<Order> findByIds(Set<UUID> ids) {
         if (ids == null || ids.isEmpty()) {
             return List.of();
         }
 
-        String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
-        String sql = String.format(SQL.GET_BY_IDS, placeholders);
+        return jdbcTemplate.query(SQL.GET_BY_IDS, ROW_MAPPER, new SqlArrayValue(UUID_TYPE, ids.toArray()));
+    }
 
-        return jdbcTemplate.query(sql, ROW_MAPPER, ids.toArray());
+    @Override
+    public void streamByFilter(
+            Status status,
+            OffsetDateTime from,
+            OffsetDateTime to,
+            int fetchSize,
+            Consumer<Order> consumer
+    ) {
+        List<String> filters = new ArrayList<>(3);
+        List<Object> params = new ArrayList<>(3);
+        if (status != null) {
+            filters.add(SQL.FILTER_BY_STATUS);
+            params.add(status.name());
+        }
+        if (from != null) {
+            filters.add(SQL.FILTER_CREATED_FROM);
+            params.add(toTimestamp(from));
+        }
+        if (to != null) {
+            filters.add(SQL.FILTER_CREATED_BEFORE);
+            params.add(toTimestamp(to));
+        }
+
+        String sql = filters.isEmpty()
+                ? SQL.STREAM + SQL.STREAM_ORDER_BY
+                : SQL.STREAM + " where " + String.join(" and ", filters) + SQL.STREAM_ORDER_BY;
+
+        // The driver only fetches through a cursor for forward-only statements with a fetch size
+        // on a connection that is not in auto-commit, so callers must hold a transaction.
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement =
+                    connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < params.size(); i++) {
+                statement.setObject(i + 1, params.get(i));
+            }
+            return statement;
+        }, (RowCallbackHandler) resultSet -> consumer.accept(ROW_MAPPER.mapRow(resultSet, resultSet.getRow())));
     }
 
     @Override
@@ -91,18 +290,25 @@ public class OrderDaoImpl implements OrderDao {
         return jdbcTemplate.queryForObject(
                 SQL.CREATE,
                 ROW_MAPPER,
+                idGenerator.generateId(),
                 order.getUserId(),
-                order.getStatus().name()
+                order.getStatus().name(),
+                order.getTotal()
         );
     }
 
+    @Override
+    public int backfillTotals(int limit) {
+        return jdbcTemplate.update(SQL.BACKFILL_TOTALS, limit);
+    }
+
     @Override
     public Order updateById(UUID id, Order order) {
         Order updatedOrder = jdbcTemplate.queryForObject(
                 SQL.UPDATE_BY_ID,
                 ROW_MAPPER,
                 order.getUserId(),
-                order.getStatus().name(),
+                order.getTotal(),
                 id
         );
 
@@ -113,6 +319,39 @@ public class OrderDaoImpl implements OrderDao {
         return updatedOrder;
     }
 
+    @Override
+    public Map<UUID, StatusTransition> transitionStatuses(Map<UUID, Status> targets) {
+        if (targets.isEmpty()) {
+            return Map.of();
+        }
+
+        UUID[] ids = new UUID[targets.size()];
+        String[] statuses = new String[targets.size()];
+        int i = 0;
+        for (Map.Entry<UUID, Status> target : targets.entrySet()) {
+            ids[i] = target.getKey();
+            statuses[i++] = target.getValue().name();
+        }
+
+        Map<UUID, StatusTransition> outcomes = HashMap.newHashMap(targets.size());
+        jdbcTemplate.query(
+                SQL.TRANSITION_STATUSES,
+                (RowCallbackHandler) resultSet -> outcomes.put(
+                        UUID.fromString(resultSet.getString("id")),
+                        toTransition(
+                                resultSet.getString("target_status"),
+                                resultSet.getString("previous_status"),
+                                resultSet.getBoolean("applied")
+                        )
+                ),
+                new SqlArrayValue(UUID_TYPE, (Object[]) ids),
+                new SqlArrayValue(VARCHAR_TYPE, (Object[]) statuses),
+                new SqlArrayValue(VARCHAR_TYPE, (Object[]) TRANSITION_SOURCES),
+                new SqlArrayValue(VARCHAR_TYPE, (Object[]) TRANSITION_TARGETS)
+        );
+        return outcomes;
+    }
+
     @Override
     public void deleteById(UUID id) {
         jdbcTemplate.update(SQL.DELETE_BY_ID, id);
@@ -127,11 +366,32 @@ public class OrderDaoImpl implements OrderDao {
         }
     }
 
+    @Override
+    public Optional<OrderAggregate> findAggregateByIdAndUserId(UUID id, UUID userId) {
+        return jdbcTemplate.query(SQL.GET_AGGREGATE_BY_ID_AND_USER_ID, AGGREGATE_EXTRACTOR, id, userId);
+    }
+
     @Override
     public List<Order> findByUserId(UUID userId) {
         return jdbcTemplate.query(SQL.GET_BY_USER_ID, ROW_MAPPER, userId);
     }
 
+    @Override
+    public List<Order> findPageByUserId(UUID userId, OrderCursor after, int limit) {
+        if (after == null) {
+            return jdbcTemplate.query(SQL.GET_PAGE_BY_USER_ID, ROW_MAPPER, userId, limit);
+        }
+
+        return jdbcTemplate.query(
+                SQL.GET_PAGE_BY_USER_ID_AFTER,
+                ROW_MAPPER,
+                userId,
+                toTimestamp(after.creationDate()),
+                after.id(),
+                limit
+        );
+    }
+
     @Override
     public List<Order> findByStatusAndUserId(Status status, UUID userId) {
         return jdbcTemplate.query(SQL.GET_BY_STATUS_AND_USER, ROW_MAPPER, status.name(), userId);
@@ -142,15 +402,13 @@ public class OrderDaoImpl implements OrderDao {
         if (ids == null || ids.isEmpty()) {
             return List.of();
         }
-        String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
-        String sql = String.format(SQL.GET_BY_IDS_AND_USER, placeholders);
-
-        Object[] params = new Object[ids.size() + 1];
-        int i = 0;
-        for (UUID id : ids) params[i++] = id;
-        params[i] = userId;
 
-        return jdbcTemplate.query(sql, ROW_MAPPER, params);
+        return jdbcTemplate.query(
+                SQL.GET_BY_IDS_AND_USER,
+                ROW_MAPPER,
+                new SqlArrayValue(UUID_TYPE, ids.toArray()),
+                userId
+        );
     }
 
     @Override
@@ -174,4 +432,18 @@ public class OrderDaoImpl implements OrderDao {
         jdbcTemplate.update(SQL.DELETE_BY_ID_AND_USER_ID, id, userId);
     }
 
+    private static StatusTransition toTransition(String target, String previous, boolean applied) {
+        if (previous == null) {
+            return StatusTransition.NOT_FOUND;
+        }
+        if (applied) {
+            return StatusTransition.APPLIED;
+        }
+        return previous.equals(target) ? StatusTransition.ALREADY_IN_STATE : StatusTransition.ILLEGAL;
+    }
+
+    private static LocalDateTime toTimestamp(OffsetDateTime creationDate) {
+        return creationDate.withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime();
+    }
+
 }
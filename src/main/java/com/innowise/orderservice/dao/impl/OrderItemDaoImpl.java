@@ -2,33 +2,62 @@ package com.innowise.orderservice.dao.impl;
 
 import com.innowise.orderservice.dao.OrderItemDao;
 import com.innowise.orderservice.model.OrderItem;
-import java.util.ArrayList;
-import java.util.Collections;
+import com.innowise.orderservice.model.OrderLine;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
-import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.SqlArrayValue;
 import org.springframework.stereotype.Repository;
+import org.springframework.util.IdGenerator;
 
 @Repository
-@RequiredArgsConstructor
 public class OrderItemDaoImpl implements OrderItemDao {
 
+    private static final String UUID_TYPE = "uuid";
+
+    private static final byte[] COPY_SIGNATURE = "PGCOPY\n\377\r\n\0".getBytes(StandardCharsets.ISO_8859_1);
+    private static final short COPY_FIELD_COUNT = 5;
+    private static final int UUID_BYTES = 16;
+    private static final int NUMERIC_HEADER_BYTES = 4 * Short.BYTES;
+    private static final int NUMERIC_BASE_DIGITS = 4;
+    private static final short NUMERIC_POSITIVE = 0x0000;
+    private static final short NUMERIC_NEGATIVE = 0x4000;
+    private static final int COPY_ROW_SIZE = Short.BYTES + 3 * (Integer.BYTES + UUID_BYTES) + 2 * Integer.BYTES
+            + Integer.BYTES + NUMERIC_HEADER_BYTES + 3 * Short.BYTES;
+
     private static final class SQL {
         static final String GET_BY_ID = "select * from order_items where id = ?";
         static final String GET_BY_ORDER_ID = "select * from order_items where order_id = ?";
-        static final String GET_BY_ORDER_IDS = "select * from order_items WHERE order_id in (%s)";
+        static final String GET_BY_ORDER_IDS = "select * from order_items where order_id = any(?)";
+        static final String GET_LINES_BY_ORDER_IDS =
+            """
+            select oi.id as order_item_id, oi.order_id, oi.item_id, oi.quantity, oi.unit_price,
+                   i.name as item_name, coalesce(oi.unit_price, i.price) as item_price
+            from order_items oi
+            join items i on i.id = oi.item_id
+            where oi.order_id = any(?)
+            """;
         static final String GET_BY_ITEM_ID = "select * from order_items where item_id = ?";
         static final String GET_BY_ORDER_AND_ITEM = "select * from order_items where order_id = ? and item_id = ?";
 
-        static final String CREATE_ALL =
-            """
-            insert into order_items (order_id, item_id, quantity) 
-            values 
-            """;
+        static final String CREATE =
+            "insert into order_items (id, order_id, item_id, quantity, unit_price) values (?, ?, ?, ?, ?)";
+        static final String COPY_ALL =
+            "copy order_items (id, order_id, item_id, quantity, unit_price) from stdin (format binary)";
 
         static final String DELETE_BY_ID = "delete from order_items where id = ?";
         static final String DELETE_BY_ORDER_ID = "delete from order_items where order_id = ?";
@@ -36,6 +65,18 @@ public class OrderItemDaoImpl implements OrderItemDao {
     }
 
     private final JdbcTemplate jdbcTemplate;
+    private final IdGenerator idGenerator;
+    private final int copyThreshold;
+
+    public OrderItemDaoImpl(
+            JdbcTemplate jdbcTemplate,
+            IdGenerator idGenerator,
+            @Value("${order.items.copy-threshold:500}") int copyThreshold
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.idGenerator = idGenerator;
+        this.copyThreshold = copyThreshold;
+    }
 
     @Override
     public Optional<OrderItem> findById(UUID id) {
@@ -58,10 +99,20 @@ public class OrderItemDaoImpl implements OrderItemDao {
             return List.of();
         }
 
-        String placeholders = String.join(",", Collections.nCopies(orderIds.size(), "?"));
-        String sql = String.format(SQL.GET_BY_ORDER_IDS, placeholders);
+        return jdbcTemplate.query(SQL.GET_BY_ORDER_IDS, ROW_MAPPER, new SqlArrayValue(UUID_TYPE, orderIds.toArray()));
+    }
 
-        return jdbcTemplate.query(sql, ROW_MAPPER, orderIds.toArray());
+    @Override
+    public List<OrderLine> findLinesByOrderIds(Set<UUID> orderIds) {
+        if (orderIds == null || orderIds.isEmpty()) {
+            return List.of();
+        }
+
+        return jdbcTemplate.query(
+                SQL.GET_LINES_BY_ORDER_IDS,
+                LINE_ROW_MAPPER,
+                new SqlArrayValue(UUID_TYPE, orderIds.toArray())
+        );
     }
 
     @Override
@@ -84,29 +135,123 @@ public class OrderItemDaoImpl implements OrderItemDao {
             return List.of();
         }
 
-        StringBuilder sb = new StringBuilder();
-        sb.append(SQL.CREATE_ALL);
+        for (OrderItem orderItem : orderItems) {
+            orderItem.setId(idGenerator.generateId());
+        }
+
+        if (orderItems.size() >= copyThreshold) {
+            copyAll(orderItems);
+        } else {
+            insertAll(orderItems);
+        }
+
+        return orderItems;
+    }
+
+    private void insertAll(List<OrderItem> orderItems) {
+        jdbcTemplate.batchUpdate(SQL.CREATE, orderItems, orderItems.size(), (ps, orderItem) -> {
+            ps.setObject(1, orderItem.getId());
+            ps.setObject(2, orderItem.getOrderId());
+            ps.setObject(3, orderItem.getItemId());
+            ps.setInt(4, orderItem.getQuantity());
+            ps.setBigDecimal(5, orderItem.getUnitPrice());
+        });
+    }
+
+    private void copyAll(List<OrderItem> orderItems) {
+        byte[] rows = encodeBinaryCopy(orderItems);
 
-        List<Object> params = new ArrayList<>();
-        for (int i = 0; i < orderItems.size(); i++) {
-            sb.append("(?, ?, ?)");
-            if (i < orderItems.size() - 1) {
-                sb.append(", ");
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+                return copyManager.copyIn(SQL.COPY_ALL, new ByteArrayInputStream(rows));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
             }
-            OrderItem item = orderItems.get(i);
-            params.add(item.getOrderId());
-            params.add(item.getItemId());
-            params.add(item.getQuantity());
+        });
+    }
+
+    private static byte[] encodeBinaryCopy(List<OrderItem> orderItems) {
+        int size = COPY_SIGNATURE.length + 8 + orderItems.size() * COPY_ROW_SIZE + 2;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(size);
+
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.write(COPY_SIGNATURE);
+            out.writeInt(0);
+            out.writeInt(0);
+
+            for (OrderItem orderItem : orderItems) {
+                out.writeShort(COPY_FIELD_COUNT);
+                writeUuid(out, orderItem.getId());
+                writeUuid(out, orderItem.getOrderId());
+                writeUuid(out, orderItem.getItemId());
+                out.writeInt(Integer.BYTES);
+                out.writeInt(orderItem.getQuantity());
+                writeNumeric(out, orderItem.getUnitPrice());
+            }
+
+            out.writeShort(-1);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        sb.append(" returning id");
 
-        List<UUID> generatedIds = jdbcTemplate.queryForList(sb.toString(), UUID.class, params.toArray());
+        return bytes.toByteArray();
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID uuid) throws IOException {
+        out.writeInt(UUID_BYTES);
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+    }
 
-        for (int i = 0; i < orderItems.size(); i++) {
-            orderItems.get(i).setId(generatedIds.get(i));
+    /**
+     * Writes a value in the numeric wire layout: ndigits, weight, sign and display scale followed by
+     * base-10000 digit groups, with leading and trailing zero groups dropped.
+     */
+    static void writeNumeric(DataOutputStream out, BigDecimal value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
         }
 
-        return orderItems;
+        String plain = value.abs().toPlainString();
+        int point = plain.indexOf('.');
+        String integerPart = point < 0 ? plain : plain.substring(0, point);
+        String fractionPart = point < 0 ? "" : plain.substring(point + 1);
+
+        int integerGroups = (integerPart.length() + NUMERIC_BASE_DIGITS - 1) / NUMERIC_BASE_DIGITS;
+        int fractionGroups = (fractionPart.length() + NUMERIC_BASE_DIGITS - 1) / NUMERIC_BASE_DIGITS;
+        String digits = "0".repeat(integerGroups * NUMERIC_BASE_DIGITS - integerPart.length())
+                + integerPart
+                + fractionPart
+                + "0".repeat(fractionGroups * NUMERIC_BASE_DIGITS - fractionPart.length());
+
+        short[] groups = new short[integerGroups + fractionGroups];
+        for (int i = 0; i < groups.length; i++) {
+            int offset = i * NUMERIC_BASE_DIGITS;
+            groups[i] = Short.parseShort(digits.substring(offset, offset + NUMERIC_BASE_DIGITS));
+        }
+
+        int first = 0;
+        while (first < groups.length && groups[first] == 0) {
+            first++;
+        }
+        int last = groups.length;
+        while (last > first && groups[last - 1] == 0) {
+            last--;
+        }
+
+        int ndigits = last - first;
+        int weight = ndigits == 0 ? 0 : integerGroups - 1 - first;
+
+        out.writeInt(NUMERIC_HEADER_BYTES + ndigits * Short.BYTES);
+        out.writeShort(ndigits);
+        out.writeShort(weight);
+        out.writeShort(value.signum() < 0 ? NUMERIC_NEGATIVE : NUMERIC_POSITIVE);
+        out.writeShort(Math.max(value.scale(), 0));
+        for (int i = first; i < last; i++) {
+            out.writeShort(groups[i]);
+        }
     }
 
     @Override
@@ -0,0 +1,74 @@
+package com.innowise.orderservice.dao.impl;
+
+import com.innowise.orderservice.dao.OrderOutboxDao;
+import com.innowise.orderservice.model.OrderOutboxEntry;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.SqlArrayValue;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.IdGenerator;
+
+@Repository
+@RequiredArgsConstructor
+public class OrderOutboxDaoImpl implements OrderOutboxDao {
+
+    private static final String UUID_TYPE = "uuid";
+
+    private static final class SQL {
+        static final String CREATE =
+                """
+                insert into order_outbox (id, order_id, user_id, total, created_at)
+                values (?, ?, ?, ?, CURRENT_TIMESTAMP)
+                """;
+        static final String LOCK_NEXT_BATCH =
+                """
+                select * from order_outbox
+                order by id
+                limit ?
+                for update skip locked
+                """;
+        static final String DELETE_BY_IDS = "delete from order_outbox where id = any(?)";
+        static final String GET_OLDEST_ENTRY_AGE =
+                """
+                select coalesce(extract(epoch from localtimestamp
+                       - (select created_at from order_outbox order by id limit 1)), 0)
+                """;
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IdGenerator idGenerator;
+
+    @Override
+    public void create(OrderOutboxEntry entry) {
+        jdbcTemplate.update(
+                SQL.CREATE,
+                idGenerator.generateId(),
+                entry.getOrderId(),
+                entry.getUserId(),
+                entry.getTotal()
+        );
+    }
+
+    @Override
+    public List<OrderOutboxEntry> lockNextBatch(int limit) {
+        return jdbcTemplate.query(SQL.LOCK_NEXT_BATCH, ROW_MAPPER, limit);
+    }
+
+    @Override
+    public void deleteByIds(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.update(SQL.DELETE_BY_IDS, new SqlArrayValue(UUID_TYPE, ids.toArray()));
+    }
+
+    @Override
+    public double findOldestEntryAgeSeconds() {
+        Double age = jdbcTemplate.queryForObject(SQL.GET_OLDEST_ENTRY_AGE, Double.class);
+        return age == null ? 0 : age;
+    }
+}
@@ -0,0 +1,50 @@
+package com.innowise.orderservice.dao.impl;
+
+import com.innowise.orderservice.dao.OrderDao;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills in totals and item price snapshots for orders written before they were stored. Each batch is a
+ * single statement that claims its orders with {@code for update skip locked}, so instances never wait on
+ * each other and live traffic is only blocked for one batch. Orders that predate the snapshots are priced
+ * at the current item price, which is the best that is still known about them.
+ */
+@Slf4j
+@Component
+public class OrderTotalBackfill {
+
+    private final OrderDao orderDao;
+    private final int batchSize;
+    private final Counter backfilled;
+
+    public OrderTotalBackfill(
+            OrderDao orderDao,
+            @Value("${order.backfill.batch-size:500}") int batchSize,
+            MeterRegistry meterRegistry
+    ) {
+        this.orderDao = orderDao;
+        this.batchSize = batchSize;
+        this.backfilled = Counter.builder("order.backfill.orders")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${order.backfill.interval-ms:60000}")
+    public void backfill() {
+        int total = 0;
+        int updated;
+        do {
+            updated = orderDao.backfillTotals(batchSize);
+            backfilled.increment(updated);
+            total += updated;
+        } while (updated == batchSize);
+
+        if (total > 0) {
+            log.info("Backfilled totals for {} orders", total);
+        }
+    }
+}
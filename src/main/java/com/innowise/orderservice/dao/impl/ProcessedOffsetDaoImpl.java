@@ -0,0 +1,73 @@
+package com.innowise.orderservice.dao.impl;
+
+import com.innowise.orderservice.dao.ProcessedOffsetDao;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.SqlArrayValue;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class ProcessedOffsetDaoImpl implements ProcessedOffsetDao {
+
+    private static final String INT_TYPE = "int4";
+    private static final String BIGINT_TYPE = "int8";
+
+    private static final class SQL {
+        static final String GET_LAST_OFFSETS =
+                "select partition, last_offset from processed_offsets where topic = ? and partition = any(?)";
+        static final String SAVE_LAST_OFFSETS =
+                """
+                insert into processed_offsets (topic, partition, last_offset)
+                select ?, p.partition, p.last_offset
+                from unnest(?::int[], ?::bigint[]) as p(partition, last_offset)
+                on conflict (topic, partition)
+                do update set last_offset = greatest(processed_offsets.last_offset, excluded.last_offset)
+                """;
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Map<Integer, Long> findLastOffsets(String topic, Collection<Integer> partitions) {
+        if (partitions.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Integer, Long> lastOffsets = HashMap.newHashMap(partitions.size());
+        jdbcTemplate.query(
+                SQL.GET_LAST_OFFSETS,
+                (RowCallbackHandler) resultSet ->
+                        lastOffsets.put(resultSet.getInt("partition"), resultSet.getLong("last_offset")),
+                topic,
+                new SqlArrayValue(INT_TYPE, partitions.toArray())
+        );
+        return lastOffsets;
+    }
+
+    @Override
+    public void saveLastOffsets(String topic, Map<Integer, Long> lastOffsets) {
+        if (lastOffsets.isEmpty()) {
+            return;
+        }
+
+        Integer[] partitions = new Integer[lastOffsets.size()];
+        Long[] offsets = new Long[lastOffsets.size()];
+        int i = 0;
+        for (Map.Entry<Integer, Long> lastOffset : lastOffsets.entrySet()) {
+            partitions[i] = lastOffset.getKey();
+            offsets[i++] = lastOffset.getValue();
+        }
+
+        jdbcTemplate.update(
+                SQL.SAVE_LAST_OFFSETS,
+                topic,
+                new SqlArrayValue(INT_TYPE, (Object[]) partitions),
+                new SqlArrayValue(BIGINT_TYPE, (Object[]) offsets)
+        );
+    }
+}
@@ -2,6 +2,7 @@ package com.innowise.orderservice.dto.response;
 
 import com.innowise.orderservice.client.user.UserResponse;
 import com.innowise.orderservice.model.enums.Status;
+import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
@@ -17,6 +18,7 @@ public class OrderResponse {
     private UserResponse user;
     private Status status;
     private OffsetDateTime creationDate;
+    private BigDecimal total;
 
     private List<OrderItemResponse> items;
 }
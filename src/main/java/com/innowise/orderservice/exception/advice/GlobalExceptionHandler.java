@@ -3,9 +3,12 @@ package com.innowise.orderservice.exception.advice;
 import com.innowise.orderservice.dto.exception.ExceptionDto;
 import com.innowise.orderservice.dto.exception.Validation;
 import com.innowise.orderservice.exception.custom.DuplicateItemInOrderException;
+import com.innowise.orderservice.exception.custom.EnrichmentTimeoutException;
+import com.innowise.orderservice.exception.custom.InvalidCursorException;
 import com.innowise.orderservice.exception.custom.ItemNotFoundException;
 import com.innowise.orderservice.exception.custom.OrderItemNotFoundException;
 import com.innowise.orderservice.exception.custom.OrderNotFoundException;
+import com.innowise.orderservice.exception.custom.UserLookupException;
 import feign.FeignException.FeignClientException;
 import feign.RetryableException;
 import java.net.ConnectException;
@@ -55,6 +58,13 @@ public class GlobalExceptionHandler {
                 .body(new ExceptionDto(LocalDateTime.now(), FIELD_VALIDATION_FAILED, validations));
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ExceptionDto> handleInvalidCursorException(InvalidCursorException e) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(new ExceptionDto(LocalDateTime.now(), e.getMessage(), null));
+    }
+
     @ExceptionHandler(DuplicateItemInOrderException.class)
     public ResponseEntity<ExceptionDto> handleDuplicateItemInOrderException(DuplicateItemInOrderException e) {
         return ResponseEntity
@@ -97,6 +107,20 @@ public class GlobalExceptionHandler {
                 .body(new ExceptionDto(LocalDateTime.now(), SERVICE_UNAVAILABLE, null));
     }
 
+    @ExceptionHandler(UserLookupException.class)
+    public ResponseEntity<ExceptionDto> handleUserLookupException(UserLookupException e) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_GATEWAY)
+                .body(new ExceptionDto(LocalDateTime.now(), e.getMessage(), null));
+    }
+
+    @ExceptionHandler(EnrichmentTimeoutException.class)
+    public ResponseEntity<ExceptionDto> handleEnrichmentTimeoutException(EnrichmentTimeoutException e) {
+        return ResponseEntity
+                .status(HttpStatus.GATEWAY_TIMEOUT)
+                .body(new ExceptionDto(LocalDateTime.now(), e.getMessage(), null));
+    }
+
     @ExceptionHandler(ResponseStatusException.class)
     public ResponseEntity<?> handleResponseStatusException(ResponseStatusException e) {
         return ResponseEntity
@@ -0,0 +1,6 @@
+package com.innowise.orderservice.exception.custom;
+
+import lombok.experimental.StandardException;
+
+@StandardException
+public class InvalidCursorException extends RuntimeException {}
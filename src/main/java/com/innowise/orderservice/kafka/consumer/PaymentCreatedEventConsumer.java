@@ -1,19 +1,237 @@
 package com.innowise.orderservice.kafka.consumer;
 
+import com.innowise.orderservice.configuration.ExecutorConfig;
+import com.innowise.orderservice.configuration.KafkaConfig;
+import com.innowise.orderservice.kafka.producer.PaymentRetryProducer;
+import com.innowise.orderservice.model.enums.StatusTransition;
 import com.innowise.orderservice.service.OrderService;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
 import org.springframework.stereotype.Service;
 
+/**
+ * Consumes payment events a poll at a time, one container thread per assigned partition. Records already
+ * applied by an earlier delivery are dropped by {@link ProcessedOffsetTracker}, and only the last status of
+ * each order in the rest is kept. Orders are then hashed into lanes that are applied in parallel on virtual
+ * threads; an order always lands in the same lane, so its events are never reordered or applied
+ * concurrently. Events whose order does not exist yet are handed to {@link PaymentRetryConsumer} through the
+ * retry topic, and records that cannot be read are sent to the dead-letter topic while the lanes run.
+ *
+ * <p>If a lane or a dead-letter send fails, the batch is reported as failed at the first record affected:
+ * the container commits the offsets before it and redelivers the rest, and lanes that had already finished
+ * are reapplied as no-op transitions. The redeliveries back off exponentially and a record that keeps
+ * failing is dead-lettered, see {@link KafkaConfig#paymentErrorHandler}.
+ */
+@Slf4j
 @Service
-@RequiredArgsConstructor
-public class PaymentCreatedEventConsumer {
+public class PaymentCreatedEventConsumer implements ConsumerSeekAware {
+
+    private static final String LANES_FAILED = "Failed to apply payment events: %d of %d lanes failed";
+    private static final String DEAD_LETTER_FAILED = "Failed to dead-letter the payment event at %s-%d@%d";
 
     private final OrderService orderService;
+    private final ProcessedOffsetTracker processedOffsetTracker;
+    private final PaymentRetryProducer paymentRetryProducer;
+    private final DeadLetterPublishingRecoverer deadLetterRecoverer;
+    private final Executor executor;
+    private final int lanes;
+    private final int minLaneSize;
+    private final MeterRegistry meterRegistry;
+
+    public PaymentCreatedEventConsumer(
+            OrderService orderService,
+            ProcessedOffsetTracker processedOffsetTracker,
+            PaymentRetryProducer paymentRetryProducer,
+            @Qualifier(KafkaConfig.PAYMENT_DEAD_LETTER_RECOVERER) DeadLetterPublishingRecoverer deadLetterRecoverer,
+            @Qualifier(ExecutorConfig.VIRTUAL_THREAD_EXECUTOR) Executor executor,
+            @Value("${kafka.consumer.lanes:4}") int lanes,
+            @Value("${kafka.consumer.min-lane-size:50}") int minLaneSize,
+            MeterRegistry meterRegistry
+    ) {
+        this.orderService = orderService;
+        this.processedOffsetTracker = processedOffsetTracker;
+        this.paymentRetryProducer = paymentRetryProducer;
+        this.deadLetterRecoverer = deadLetterRecoverer;
+        this.executor = executor;
+        this.lanes = lanes;
+        this.minLaneSize = minLaneSize;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @KafkaListener(
+            topics = "${kafka.topics.create-payment}",
+            containerFactory = KafkaConfig.PAYMENT_LISTENER_CONTAINER_FACTORY,
+            batch = "true",
+            concurrency = "${kafka.consumer.concurrency:2}"
+    )
+    public void consume(List<ConsumerRecord<String, PaymentCreatedEvent>> records) {
+        List<ConsumerRecord<String, PaymentCreatedEvent>> fresh = processedOffsetTracker.dropProcessed(records);
+        if (fresh.isEmpty()) {
+            log.debug("Skipped a payment batch of {} already processed records", records.size());
+            return;
+        }
+
+        int laneCount = Math.clamp(fresh.size() / Math.max(1, minLaneSize), 1, lanes);
+        List<Map<UUID, ConsumerRecord<String, PaymentCreatedEvent>>> laneRecords = new ArrayList<>(laneCount);
+        for (int i = 0; i < laneCount; i++) {
+            laneRecords.add(new LinkedHashMap<>());
+        }
+        List<ConsumerRecord<String, PaymentCreatedEvent>> unreadable = new ArrayList<>();
+        for (ConsumerRecord<String, PaymentCreatedEvent> consumerRecord : fresh) {
+            PaymentCreatedEvent event = consumerRecord.value();
+            if (!isReadable(event)) {
+                unreadable.add(consumerRecord);
+                continue;
+            }
+            laneRecords.get(laneOf(event.getOrderId(), laneCount)).put(event.getOrderId(), consumerRecord);
+        }
+        meterRegistry.summary("kafka.consumer.lanes").record(laneCount);
+
+        Executor laneExecutor = laneCount == 1 ? Runnable::run : executor;
+        List<CompletableFuture<Map<UUID, StatusTransition>>> runs = new ArrayList<>(laneCount);
+        for (Map<UUID, ConsumerRecord<String, PaymentCreatedEvent>> lane : laneRecords) {
+            runs.add(CompletableFuture.supplyAsync(() -> applyLane(lane), laneExecutor));
+        }
+
+        ConsumerRecord<String, PaymentCreatedEvent> notDeadLettered = null;
+        RuntimeException deadLetterFailure = null;
+        for (ConsumerRecord<String, PaymentCreatedEvent> consumerRecord : unreadable) {
+            try {
+                deadLetter(consumerRecord);
+            } catch (RuntimeException e) {
+                notDeadLettered = consumerRecord;
+                deadLetterFailure = e;
+                break;
+            }
+        }
+
+        Map<StatusTransition, Integer> counts = new EnumMap<>(StatusTransition.class);
+        List<Integer> failedLanes = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        for (int i = 0; i < laneCount; i++) {
+            try {
+                runs.get(i).join().values().forEach(transition -> counts.merge(transition, 1, Integer::sum));
+            } catch (CompletionException e) {
+                failedLanes.add(i);
+                failures.add(e.getCause() != null ? e.getCause() : e);
+            }
+        }
+        counts.forEach((transition, count) ->
+                meterRegistry.counter("order.status.transitions", "outcome", transition.name()).increment(count));
+
+        int notFound = counts.getOrDefault(StatusTransition.NOT_FOUND, 0);
+        if (notFound > 0) {
+            log.warn("{} orders in a payment batch were not found, their events were sent for retry", notFound);
+        }
+
+        if (deadLetterFailure != null) {
+            int failedAt = Math.min(records.indexOf(notDeadLettered), firstRecordOf(records, failedLanes, laneCount));
+            processedOffsetTracker.markProcessed(records.subList(0, failedAt));
+
+            BatchListenerFailedException exception = new BatchListenerFailedException(String.format(DEAD_LETTER_FAILED,
+                    notDeadLettered.topic(), notDeadLettered.partition(), notDeadLettered.offset()),
+                    deadLetterFailure, failedAt);
+            failures.forEach(exception::addSuppressed);
+            throw exception;
+        }
+
+        if (!failures.isEmpty()) {
+            int failedAt = firstRecordOf(records, failedLanes, laneCount);
+            processedOffsetTracker.markProcessed(records.subList(0, failedAt));
+
+            BatchListenerFailedException exception = new BatchListenerFailedException(
+                    String.format(LANES_FAILED, failures.size(), laneCount), failures.getFirst(), failedAt);
+            failures.stream().skip(1).forEach(exception::addSuppressed);
+            throw exception;
+        }
+
+        processedOffsetTracker.markProcessed(records);
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        processedOffsetTracker.forget(assignments.keySet());
+    }
+
+    @Override
+    public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+        processedOffsetTracker.forget(partitions);
+    }
+
+    static int laneOf(UUID orderId, int laneCount) {
+        return Math.floorMod(orderId.hashCode(), laneCount);
+    }
+
+    private Map<UUID, StatusTransition> applyLane(Map<UUID, ConsumerRecord<String, PaymentCreatedEvent>> lane) {
+        if (lane.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<UUID, PaymentStatus> lastStatuses = HashMap.newHashMap(lane.size());
+        lane.forEach((orderId, consumerRecord) -> lastStatuses.put(orderId, consumerRecord.value().getPaymentStatus()));
+        Map<UUID, StatusTransition> transitions = orderService.updateStatuses(lastStatuses);
+
+        List<ConsumerRecord<String, PaymentCreatedEvent>> pending = new ArrayList<>();
+        transitions.forEach((orderId, transition) -> {
+            if (transition == StatusTransition.NOT_FOUND) {
+                pending.add(lane.get(orderId));
+            }
+        });
+        paymentRetryProducer.sendAll(pending);
+
+        return transitions;
+    }
+
+    /**
+     * Publishes the record to the dead-letter topic and waits for the broker to acknowledge it. A value that
+     * failed deserialization is forwarded as the raw bytes it arrived with.
+     */
+    private void deadLetter(ConsumerRecord<String, PaymentCreatedEvent> consumerRecord) {
+        String reason = consumerRecord.value() == null
+                ? "Payment event could not be deserialized"
+                : "Payment event has no order id or payment status";
+        deadLetterRecoverer.accept(consumerRecord, new IllegalArgumentException(reason));
+
+        meterRegistry.counter("kafka.consumer.records", "outcome", "dead-lettered").increment();
+        log.error("Sent unreadable payment event at {}-{}@{} to the dead-letter topic: {}",
+                consumerRecord.topic(), consumerRecord.partition(), consumerRecord.offset(), reason);
+    }
+
+    private static int firstRecordOf(
+            List<ConsumerRecord<String, PaymentCreatedEvent>> records,
+            List<Integer> failedLanes,
+            int laneCount
+    ) {
+        for (int i = 0; i < records.size(); i++) {
+            PaymentCreatedEvent event = records.get(i).value();
+            if (isReadable(event) && failedLanes.contains(laneOf(event.getOrderId(), laneCount))) {
+                return i;
+            }
+        }
+        return records.size();
+    }
 
-    @KafkaListener(topics = "${kafka.topics.create-payment}")
-    public void consume(PaymentCreatedEvent event) {
-        orderService.updateStatusById(event.getOrderId(), event.getPaymentStatus());
+    private static boolean isReadable(PaymentCreatedEvent event) {
+        return event != null && event.getOrderId() != null && event.getPaymentStatus() != null;
     }
 
 }
@@ -0,0 +1,83 @@
+package com.innowise.orderservice.kafka.consumer;
+
+import com.innowise.orderservice.exception.custom.OrderNotFoundException;
+import com.innowise.orderservice.model.enums.StatusTransition;
+import com.innowise.orderservice.service.OrderService;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.annotation.DltHandler;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.RetryableTopic;
+import org.springframework.kafka.retrytopic.DltStrategy;
+import org.springframework.kafka.retrytopic.TopicSuffixingStrategy;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+/**
+ * Applies payment events whose order did not exist yet when the main consumer saw them. Each failed
+ * attempt moves the record to the next delayed retry topic, so waiting payments never hold up the main
+ * partitions. {@link OrderNotFoundException} is retried, and so are transient database and Kafka failures,
+ * so a short outage does not dead-letter every waiting payment. Any other failure, including a payload that
+ * cannot be deserialized, goes straight to the dead-letter topic.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PaymentRetryConsumer {
+
+    private final OrderService orderService;
+    private final MeterRegistry meterRegistry;
+
+    @RetryableTopic(
+            attempts = "${kafka.retry.attempts:5}",
+            backoff = @Backoff(
+                    delayExpression = "${kafka.retry.initial-delay-ms:1000}",
+                    multiplierExpression = "${kafka.retry.multiplier:2}",
+                    maxDelayExpression = "${kafka.retry.max-delay-ms:60000}"
+            ),
+            include = {
+                    OrderNotFoundException.class,
+                    TransientDataAccessException.class,
+                    RecoverableDataAccessException.class,
+                    DataAccessResourceFailureException.class,
+                    CannotCreateTransactionException.class,
+                    KafkaException.class
+            },
+            traversingCauses = "true",
+            topicSuffixingStrategy = TopicSuffixingStrategy.SUFFIX_WITH_INDEX_VALUE,
+            dltStrategy = DltStrategy.FAIL_ON_ERROR
+    )
+    @KafkaListener(topics = "${kafka.topics.payment-retry:PAYMENT_RETRY}")
+    public void consume(ConsumerRecord<String, PaymentCreatedEvent> consumerRecord) {
+        meterRegistry.counter("payment.retry.attempts", "topic", consumerRecord.topic()).increment();
+
+        PaymentCreatedEvent event = consumerRecord.value();
+        StatusTransition transition = orderService.updateStatusById(event.getOrderId(), event.getPaymentStatus());
+        if (transition == StatusTransition.NOT_FOUND) {
+            throw new OrderNotFoundException("Order not found");
+        }
+
+        meterRegistry.counter("order.status.transitions", "outcome", transition.name()).increment();
+        meterRegistry.timer("payment.retry.lag")
+                .record(Duration.ofMillis(Math.max(0, System.currentTimeMillis() - consumerRecord.timestamp())));
+    }
+
+    @DltHandler
+    public void deadLetter(
+            ConsumerRecord<String, PaymentCreatedEvent> consumerRecord,
+            @Header(name = KafkaHeaders.EXCEPTION_MESSAGE, required = false) String reason
+    ) {
+        meterRegistry.counter("payment.retry.dead-lettered").increment();
+        log.error("Payment event for order {} moved to {}: {}", consumerRecord.key(), consumerRecord.topic(), reason);
+    }
+}
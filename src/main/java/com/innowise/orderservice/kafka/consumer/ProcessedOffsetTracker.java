@@ -0,0 +1,129 @@
+package com.innowise.orderservice.kafka.consumer;
+
+import com.innowise.orderservice.dao.ProcessedOffsetDao;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Remembers the highest offset applied per partition. Records at or below it have already been applied
+ * (the container only lost the offset commit) and are dropped. The watermark is stored in
+ * {@code processed_offsets} once the records are applied, and a local copy is kept for the partitions this
+ * instance owns so the table is read only after an assignment.
+ * <p>
+ * The watermark is keyed by topic and partition only, so after a topic is recreated or a group is rewound
+ * on purpose, its records fall below the old watermark and are dropped. A partition whose records in a
+ * batch all fall below the watermark is therefore logged and counted in
+ * {@code kafka.consumer.partitions.below-watermark}. Before deleting and recreating a topic or resetting the
+ * group offsets, stop the consumers and clear its watermarks with
+ * {@code delete from processed_offsets where topic = '<topic>'} (optionally restricted by {@code partition}).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProcessedOffsetTracker {
+
+    private final ProcessedOffsetDao processedOffsetDao;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<TopicPartition, Long> watermarks = new ConcurrentHashMap<>();
+
+    public <K, V> List<ConsumerRecord<K, V>> dropProcessed(List<ConsumerRecord<K, V>> records) {
+        loadMissing(records);
+
+        List<ConsumerRecord<K, V>> fresh = new ArrayList<>(records.size());
+        Map<TopicPartition, Long> dropped = new HashMap<>();
+        Set<TopicPartition> applied = new HashSet<>();
+        for (ConsumerRecord<K, V> consumerRecord : records) {
+            TopicPartition partition = partitionOf(consumerRecord);
+            Long watermark = watermarks.get(partition);
+            if (watermark == null || consumerRecord.offset() > watermark) {
+                fresh.add(consumerRecord);
+                applied.add(partition);
+            } else {
+                dropped.merge(partition, consumerRecord.offset(), Math::min);
+            }
+        }
+        dropped.keySet().removeAll(applied);
+        dropped.forEach(this::reportBelowWatermark);
+
+        meterRegistry.counter("kafka.consumer.records", "outcome", "received").increment(records.size());
+        meterRegistry.counter("kafka.consumer.records", "outcome", "duplicate")
+                .increment(records.size() - fresh.size());
+        return fresh;
+    }
+
+    /**
+     * Stores the last offset of every partition in the records. Call it only after the records have been
+     * applied, so the watermark never runs ahead of the data; inside a transaction the local copy is
+     * advanced on commit.
+     */
+    public void markProcessed(List<? extends ConsumerRecord<?, ?>> records) {
+        Map<TopicPartition, Long> lastOffsets = new HashMap<>();
+        for (ConsumerRecord<?, ?> consumerRecord : records) {
+            lastOffsets.merge(partitionOf(consumerRecord), consumerRecord.offset(), Math::max);
+        }
+
+        Map<String, Map<Integer, Long>> byTopic = new HashMap<>();
+        lastOffsets.forEach((partition, offset) ->
+                byTopic.computeIfAbsent(partition.topic(), topic -> new HashMap<>())
+                        .put(partition.partition(), offset));
+        byTopic.forEach(processedOffsetDao::saveLastOffsets);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    advance(lastOffsets);
+                }
+            });
+        } else {
+            advance(lastOffsets);
+        }
+    }
+
+    public void forget(Collection<TopicPartition> partitions) {
+        partitions.forEach(watermarks::remove);
+    }
+
+    private void loadMissing(List<? extends ConsumerRecord<?, ?>> records) {
+        Map<String, Set<Integer>> missing = new HashMap<>();
+        for (ConsumerRecord<?, ?> consumerRecord : records) {
+            if (!watermarks.containsKey(partitionOf(consumerRecord))) {
+                missing.computeIfAbsent(consumerRecord.topic(), topic -> new HashSet<>())
+                        .add(consumerRecord.partition());
+            }
+        }
+
+        missing.forEach((topic, partitions) -> processedOffsetDao.findLastOffsets(topic, partitions)
+                .forEach((partition, offset) -> watermarks.put(new TopicPartition(topic, partition), offset)));
+    }
+
+    private void reportBelowWatermark(TopicPartition partition, long firstOffset) {
+        log.warn("All records of {} from offset {} are at or below the processed watermark {} and were dropped; "
+                        + "if the topic was recreated or the group rewound, clear its rows in processed_offsets",
+                partition, firstOffset, watermarks.get(partition));
+        meterRegistry.counter("kafka.consumer.partitions.below-watermark", "topic", partition.topic()).increment();
+    }
+
+    private void advance(Map<TopicPartition, Long> lastOffsets) {
+        lastOffsets.forEach((partition, offset) -> watermarks.merge(partition, offset, Math::max));
+    }
+
+    private static TopicPartition partitionOf(ConsumerRecord<?, ?> consumerRecord) {
+        return new TopicPartition(consumerRecord.topic(), consumerRecord.partition());
+    }
+}
@@ -1,20 +1,96 @@
 package com.innowise.orderservice.kafka.producer;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.KafkaException;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+/**
+ * Publishes {@link OrderCreatedEvent}s. At most {@code kafka.producer.max-in-flight} sends may be unacknowledged
+ * at once; a send that cannot get a slot within {@code acquire-timeout} fails instead of queueing, so a broker
+ * outage cannot pile up events in memory. Every delivery outcome is recorded in the
+ * {@code kafka.producer.sends} timer.
+ */
 @Service
-@RequiredArgsConstructor
 public class OrderCreatedEventProducer {
 
+    private static final String OUTCOME = "outcome";
+
     private final KafkaTemplate<String, OrderCreatedEvent> kafkaTemplate;
+    private final String createOrderTopic;
+    private final Semaphore inFlight;
+    private final Duration acquireTimeout;
+    private final Timer delivered;
+    private final Timer failed;
+
+    public OrderCreatedEventProducer(
+            KafkaTemplate<String, OrderCreatedEvent> kafkaTemplate,
+            @Value("${kafka.topics.create-order}") String createOrderTopic,
+            @Value("${kafka.producer.max-in-flight:10000}") int maxInFlight,
+            @Value("${kafka.producer.acquire-timeout:5s}") Duration acquireTimeout,
+            MeterRegistry meterRegistry
+    ) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.createOrderTopic = createOrderTopic;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.acquireTimeout = acquireTimeout;
+        this.delivered = Timer.builder("kafka.producer.sends")
+                .tag("topic", createOrderTopic)
+                .tag(OUTCOME, "success")
+                .register(meterRegistry);
+        this.failed = Timer.builder("kafka.producer.sends")
+                .tag("topic", createOrderTopic)
+                .tag(OUTCOME, "failure")
+                .register(meterRegistry);
+
+        Gauge.builder("kafka.producer.in-flight", inFlight, semaphore -> maxInFlight - semaphore.availablePermits())
+                .tag("topic", createOrderTopic)
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<SendResult<String, OrderCreatedEvent>> send(OrderCreatedEvent event) {
+        try {
+            if (!inFlight.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                return rejected(new KafkaException("Too many unacknowledged sends to " + createOrderTopic));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return rejected(new KafkaException("Interrupted while waiting to send to " + createOrderTopic, e));
+        }
 
-    @Value("${kafka.topics.create-order}")
-    private String createOrderTopic;
+        long start = System.nanoTime();
+        CompletableFuture<SendResult<String, OrderCreatedEvent>> send;
+        try {
+            send = kafkaTemplate.send(createOrderTopic, event.getOrderId().toString(), event);
+        } catch (RuntimeException e) {
+            inFlight.release();
+            return rejected(e);
+        }
+
+        return send.whenComplete((result, exception) -> {
+            inFlight.release();
+            if (exception == null) {
+                delivered.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            } else {
+                failed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+
+    public void flush() {
+        kafkaTemplate.flush();
+    }
 
-    public void send(OrderCreatedEvent event) {
-        kafkaTemplate.send(createOrderTopic, event);
+    private CompletableFuture<SendResult<String, OrderCreatedEvent>> rejected(Exception exception) {
+        failed.record(0, TimeUnit.NANOSECONDS);
+        return CompletableFuture.failedFuture(exception);
     }
 }
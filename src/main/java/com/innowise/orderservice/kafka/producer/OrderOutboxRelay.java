@@ -0,0 +1,115 @@
+package com.innowise.orderservice.kafka.producer;
+
+import com.innowise.orderservice.dao.OrderOutboxDao;
+import com.innowise.orderservice.model.OrderOutboxEntry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Publishes {@link OrderCreatedEvent}s written to the outbox by the order transaction. Each batch is
+ * claimed with {@code for update skip locked}, so several instances relay disjoint batches in parallel.
+ * All sends of a batch are issued before any is awaited, and only acknowledged rows are deleted; rows
+ * whose send failed are unlocked on commit and retried by the next run. Delivery is at least once. The
+ * producer is never flushed here: {@code linger.ms} already bounds batching, and the send timeout is the
+ * only wait while the batch holds its row locks.
+ */
+@Slf4j
+@Component
+public class OrderOutboxRelay {
+
+    private final OrderOutboxDao orderOutboxDao;
+    private final OrderCreatedEventProducer orderCreatedEventProducer;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration sendTimeout;
+    private final Counter relayed;
+    private final Counter failed;
+    private final Timer batchTimer;
+
+    public OrderOutboxRelay(
+            OrderOutboxDao orderOutboxDao,
+            OrderCreatedEventProducer orderCreatedEventProducer,
+            PlatformTransactionManager transactionManager,
+            @Value("${order.outbox.batch-size:500}") int batchSize,
+            @Value("${order.outbox.send-timeout:10s}") Duration sendTimeout,
+            MeterRegistry meterRegistry
+    ) {
+        this.orderOutboxDao = orderOutboxDao;
+        this.orderCreatedEventProducer = orderCreatedEventProducer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.sendTimeout = sendTimeout;
+        this.relayed = Counter.builder("order.outbox.relayed")
+                .register(meterRegistry);
+        this.failed = Counter.builder("order.outbox.failed")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("order.outbox.batch")
+                .register(meterRegistry);
+
+        Gauge.builder("order.outbox.lag", orderOutboxDao, OrderOutboxDao::findOldestEntryAgeSeconds)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${order.outbox.relay-interval-ms:200}")
+    public void relay() {
+        Integer relayedCount;
+        do {
+            relayedCount = batchTimer.record(() -> transactionTemplate.execute(status -> relayBatch()));
+        } while (relayedCount != null && relayedCount == batchSize);
+    }
+
+    private int relayBatch() {
+        List<OrderOutboxEntry> batch = orderOutboxDao.lockNextBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<?>> sends = new ArrayList<>(batch.size());
+        for (OrderOutboxEntry entry : batch) {
+            sends.add(orderCreatedEventProducer.send(
+                    new OrderCreatedEvent(entry.getOrderId(), entry.getUserId(), entry.getTotal())));
+        }
+
+        List<UUID> acknowledged = new ArrayList<>(batch.size());
+        Exception firstFailure = null;
+        long deadline = System.nanoTime() + sendTimeout.toNanos();
+        for (int i = 0; i < batch.size(); i++) {
+            try {
+                sends.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                acknowledged.add(batch.get(i).getId());
+            } catch (ExecutionException | TimeoutException e) {
+                firstFailure = firstFailure == null ? e : firstFailure;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        if (firstFailure != null) {
+            log.warn("Failed to publish {} of {} outbox entries, they will be retried",
+                    batch.size() - acknowledged.size(), batch.size(), firstFailure);
+        }
+
+        orderOutboxDao.deleteByIds(acknowledged);
+        relayed.increment(acknowledged.size());
+        failed.increment(batch.size() - acknowledged.size());
+        return acknowledged.size();
+    }
+}
@@ -0,0 +1,62 @@
+package com.innowise.orderservice.kafka.producer;
+
+import com.innowise.orderservice.kafka.consumer.PaymentCreatedEvent;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class PaymentRetryProducer {
+
+    private final KafkaTemplate<String, PaymentCreatedEvent> kafkaTemplate;
+
+    @Value("${kafka.topics.payment-retry:PAYMENT_RETRY}")
+    private String paymentRetryTopic;
+
+    @Value("${kafka.retry.send-timeout:10s}")
+    private Duration sendTimeout;
+
+    /**
+     * Re-publishes payment events to the retry topic and waits until all of them are acknowledged. Key and
+     * original timestamp are kept, so the retry consumer can tell how long a payment has been waiting.
+     */
+    public void sendAll(List<ConsumerRecord<String, PaymentCreatedEvent>> consumerRecords) {
+        if (consumerRecords.isEmpty()) {
+            return;
+        }
+
+        List<CompletableFuture<?>> sends = new ArrayList<>(consumerRecords.size());
+        for (ConsumerRecord<String, PaymentCreatedEvent> consumerRecord : consumerRecords) {
+            sends.add(kafkaTemplate.send(new ProducerRecord<>(
+                    paymentRetryTopic,
+                    null,
+                    consumerRecord.timestamp(),
+                    consumerRecord.key(),
+                    consumerRecord.value()
+            )));
+        }
+        kafkaTemplate.flush();
+
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+                    .get(sendTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new KafkaException("Failed to forward payment events to " + paymentRetryTopic, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KafkaException("Interrupted while forwarding payment events", e);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.innowise.orderservice.kafka.serialization;
+
+import com.innowise.orderservice.kafka.consumer.PaymentCreatedEvent;
+import com.innowise.orderservice.kafka.consumer.PaymentStatus;
+import com.innowise.orderservice.kafka.producer.OrderCreatedEvent;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.UUID;
+import org.apache.kafka.common.errors.SerializationException;
+
+/**
+ * Fixed-layout binary encoding of the events. The first byte is the schema id, which names both the event
+ * type and its layout version, so a new layout gets a new id and old records stay readable.
+ *
+ * <pre>
+ * ORDER_CREATED_V1   | 1 | orderId (16) | userId (16) | total scale (1) | unscaled length (1) | unscaled |
+ * PAYMENT_CREATED_V1 | 2 | orderId (16) | payment status (1) |
+ * </pre>
+ *
+ * UUIDs are written as two big-endian longs and payment statuses as fixed codes rather than ordinals.
+ */
+public final class BinaryEventCodec {
+
+    static final byte ORDER_CREATED_V1 = 1;
+    static final byte PAYMENT_CREATED_V1 = 2;
+
+    private static final int UUID_BYTES = 16;
+    private static final byte PAYMENT_SUCCESS = 1;
+    private static final byte PAYMENT_FAILED = 2;
+
+    private BinaryEventCodec() {
+    }
+
+    public static boolean supports(Object event) {
+        return event instanceof OrderCreatedEvent || event instanceof PaymentCreatedEvent;
+    }
+
+    public static byte[] encode(Object event) {
+        return switch (event) {
+            case OrderCreatedEvent orderCreated -> encode(orderCreated);
+            case PaymentCreatedEvent paymentCreated -> encode(paymentCreated);
+            default -> throw new SerializationException("No binary schema for " + event.getClass().getName());
+        };
+    }
+
+    public static Object decode(byte[] data) {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        try {
+            byte schema = buffer.get();
+            Object event = switch (schema) {
+                case ORDER_CREATED_V1 -> decodeOrderCreated(buffer);
+                case PAYMENT_CREATED_V1 -> decodePaymentCreated(buffer);
+                default -> throw new SerializationException("Unknown binary schema id " + schema);
+            };
+            if (buffer.hasRemaining()) {
+                throw new SerializationException("Trailing bytes after binary event with schema id " + schema);
+            }
+            return event;
+        } catch (BufferUnderflowException e) {
+            throw new SerializationException("Truncated binary event", e);
+        }
+    }
+
+    private static byte[] encode(OrderCreatedEvent event) {
+        BigDecimal total = requireNonNull(event.getTotal(), "total");
+        if (total.scale() < 0 || total.scale() > Byte.MAX_VALUE) {
+            throw new SerializationException("Total scale out of range: " + total.scale());
+        }
+        byte[] unscaled = total.unscaledValue().toByteArray();
+        if (unscaled.length > Byte.MAX_VALUE) {
+            throw new SerializationException("Total too large for binary encoding");
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 2 * UUID_BYTES + 2 + unscaled.length);
+        buffer.put(ORDER_CREATED_V1);
+        putUuid(buffer, requireNonNull(event.getOrderId(), "orderId"));
+        putUuid(buffer, requireNonNull(event.getUserId(), "userId"));
+        buffer.put((byte) total.scale());
+        buffer.put((byte) unscaled.length);
+        buffer.put(unscaled);
+        return buffer.array();
+    }
+
+    private static byte[] encode(PaymentCreatedEvent event) {
+        ByteBuffer buffer = ByteBuffer.allocate(1 + UUID_BYTES + 1);
+        buffer.put(PAYMENT_CREATED_V1);
+        putUuid(buffer, requireNonNull(event.getOrderId(), "orderId"));
+        buffer.put(switch (requireNonNull(event.getPaymentStatus(), "paymentStatus")) {
+            case SUCCESS -> PAYMENT_SUCCESS;
+            case FAILED -> PAYMENT_FAILED;
+        });
+        return buffer.array();
+    }
+
+    private static OrderCreatedEvent decodeOrderCreated(ByteBuffer buffer) {
+        UUID orderId = getUuid(buffer);
+        UUID userId = getUuid(buffer);
+        int scale = buffer.get();
+        int length = buffer.get();
+        if (scale < 0 || length <= 0) {
+            throw new SerializationException("Malformed total in binary order created event");
+        }
+        byte[] unscaled = new byte[length];
+        buffer.get(unscaled);
+        return new OrderCreatedEvent(orderId, userId, new BigDecimal(new BigInteger(unscaled), scale));
+    }
+
+    private static PaymentCreatedEvent decodePaymentCreated(ByteBuffer buffer) {
+        UUID orderId = getUuid(buffer);
+        byte status = buffer.get();
+        PaymentStatus paymentStatus = switch (status) {
+            case PAYMENT_SUCCESS -> PaymentStatus.SUCCESS;
+            case PAYMENT_FAILED -> PaymentStatus.FAILED;
+            default -> throw new SerializationException("Unknown payment status code " + status);
+        };
+        return new PaymentCreatedEvent(orderId, paymentStatus);
+    }
+
+    private static void putUuid(ByteBuffer buffer, UUID uuid) {
+        buffer.putLong(uuid.getMostSignificantBits());
+        buffer.putLong(uuid.getLeastSignificantBits());
+    }
+
+    private static UUID getUuid(ByteBuffer buffer) {
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    private static <T> T requireNonNull(T value, String field) {
+        if (value == null) {
+            throw new SerializationException("Missing " + field + " in event");
+        }
+        return value;
+    }
+}
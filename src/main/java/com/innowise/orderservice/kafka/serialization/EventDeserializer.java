@@ -0,0 +1,41 @@
+package com.innowise.orderservice.kafka.serialization;
+
+import java.util.Map;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+/**
+ * Reads events written by {@link EventSerializer} in either format, choosing by the
+ * {@link WireFormat#HEADER} header. JSON is configured through the usual {@code spring.json.*} properties.
+ */
+public class EventDeserializer implements Deserializer<Object> {
+
+    private final JsonDeserializer<Object> json = new JsonDeserializer<>();
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        json.configure(configs, isKey);
+    }
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        return json.deserialize(topic, data);
+    }
+
+    @Override
+    public Object deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+
+        return WireFormat.of(headers) == WireFormat.BINARY
+                ? BinaryEventCodec.decode(data)
+                : json.deserialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        json.close();
+    }
+}
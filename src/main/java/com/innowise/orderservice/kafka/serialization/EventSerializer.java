@@ -0,0 +1,53 @@
+package com.innowise.orderservice.kafka.serialization;
+
+import java.util.Map;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+/**
+ * Writes events in the format set by {@value #FORMAT_CONFIG} ({@code json} by default) and records it in
+ * the {@link WireFormat#HEADER} header. Values without a binary schema are always written as JSON. Roll
+ * out {@link EventDeserializer} to every consumer before switching a producer to {@code binary}.
+ */
+public class EventSerializer implements Serializer<Object> {
+
+    public static final String FORMAT_CONFIG = "event.wire.format";
+
+    private final JsonSerializer<Object> json = new JsonSerializer<>();
+    private WireFormat format = WireFormat.JSON;
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        json.configure(configs, isKey);
+        Object configured = configs.get(FORMAT_CONFIG);
+        if (configured != null) {
+            format = WireFormat.parse(configured.toString());
+        }
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        return json.serialize(topic, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, Object data) {
+        if (data == null) {
+            return null;
+        }
+
+        if (format == WireFormat.BINARY && BinaryEventCodec.supports(data)) {
+            WireFormat.BINARY.writeTo(headers);
+            return BinaryEventCodec.encode(data);
+        }
+
+        WireFormat.JSON.writeTo(headers);
+        return json.serialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        json.close();
+    }
+}
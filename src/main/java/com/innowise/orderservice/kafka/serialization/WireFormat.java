@@ -0,0 +1,41 @@
+package com.innowise.orderservice.kafka.serialization;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+/**
+ * Encoding of an event value, carried in the {@value #HEADER} record header. Records without the header
+ * were written before the header existed and are JSON.
+ */
+public enum WireFormat {
+    JSON,
+    BINARY;
+
+    public static final String HEADER = "event-format";
+
+    public static WireFormat of(Headers headers) {
+        Header header = headers == null ? null : headers.lastHeader(HEADER);
+        if (header == null) {
+            return JSON;
+        }
+
+        String value = new String(header.value(), StandardCharsets.US_ASCII);
+        try {
+            return parse(value);
+        } catch (IllegalArgumentException e) {
+            throw new SerializationException("Unknown " + HEADER + " header value " + value, e);
+        }
+    }
+
+    public static WireFormat parse(String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+
+    public void writeTo(Headers headers) {
+        headers.remove(HEADER);
+        headers.add(HEADER, name().toLowerCase(Locale.ROOT).getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -3,15 +3,24 @@ package com.innowise.orderservice.mapper;
 import com.innowise.orderservice.dto.request.OrderItemRequest;
 import com.innowise.orderservice.dto.response.OrderItemResponse;
 import com.innowise.orderservice.model.OrderItem;
+import com.innowise.orderservice.model.OrderLine;
 import org.mapstruct.InjectionStrategy;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants.ComponentModel;
 
 @Mapper(
         componentModel = ComponentModel.SPRING,
-        injectionStrategy = InjectionStrategy.CONSTRUCTOR
+        injectionStrategy = InjectionStrategy.CONSTRUCTOR,
+        uses = ItemMapper.class
 )
 public interface OrderItemMapper {
     OrderItemResponse toResponse(OrderItem orderItem);
+
+    @Mapping(target = "orderId", source = "orderItem.orderId")
+    @Mapping(target = "quantity", source = "orderItem.quantity")
+    OrderItemResponse toResponse(OrderLine orderLine);
+
+    @Mapping(target = "unitPrice", ignore = true)
     OrderItem toEntity(OrderItemRequest orderItemRequest);
 }
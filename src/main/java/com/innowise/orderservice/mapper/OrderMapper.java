@@ -5,6 +5,7 @@ import com.innowise.orderservice.dto.response.OrderResponse;
 import com.innowise.orderservice.model.Order;
 import org.mapstruct.InjectionStrategy;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants.ComponentModel;
 
 @Mapper(
@@ -13,5 +14,7 @@ import org.mapstruct.MappingConstants.ComponentModel;
 )
 public interface OrderMapper {
     OrderResponse toResponse(Order order);
+
+    @Mapping(target = "total", ignore = true)
     Order toEntity(OrderRequest orderRequest);
 }
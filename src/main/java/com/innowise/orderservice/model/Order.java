@@ -1,6 +1,7 @@
 package com.innowise.orderservice.model;
 
 import com.innowise.orderservice.model.enums.Status;
+import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.UUID;
 import lombok.AllArgsConstructor;
@@ -19,4 +20,5 @@ public class Order {
     private UUID userId;
     private Status status;
     private OffsetDateTime creationDate;
+    private BigDecimal total;
 }
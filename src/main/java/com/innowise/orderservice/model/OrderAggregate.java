@@ -0,0 +1,18 @@
+package com.innowise.orderservice.model;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderAggregate {
+    private Order order;
+    private List<OrderLine> lines;
+}
@@ -0,0 +1,49 @@
+package com.innowise.orderservice.model;
+
+import com.innowise.orderservice.exception.custom.InvalidCursorException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of the last order on a page in {@code (creation_date, id)} order. It is handed to clients as
+ * an opaque token: the creation date in epoch microseconds and the id, packed and base64url-encoded.
+ */
+public record OrderCursor(OffsetDateTime creationDate, UUID id) {
+
+    private static final String INVALID_CURSOR = "Invalid page cursor";
+    private static final int ENCODED_BYTES = 3 * Long.BYTES;
+
+    public static OrderCursor after(Order order) {
+        return new OrderCursor(order.getCreationDate(), order.getId());
+    }
+
+    public static OrderCursor decode(String token) {
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(token);
+            if (bytes.length != ENCODED_BYTES) {
+                throw new InvalidCursorException(INVALID_CURSOR);
+            }
+
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            Instant creationDate = Instant.EPOCH.plus(buffer.getLong(), ChronoUnit.MICROS);
+            return new OrderCursor(creationDate.atOffset(ZoneOffset.UTC), new UUID(buffer.getLong(), buffer.getLong()));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(INVALID_CURSOR, e);
+        }
+    }
+
+    public String encode() {
+        Instant instant = creationDate.toInstant();
+        byte[] bytes = ByteBuffer.allocate(ENCODED_BYTES)
+                .putLong(instant.getEpochSecond() * 1_000_000 + instant.getNano() / 1_000)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
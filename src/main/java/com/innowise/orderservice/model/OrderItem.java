@@ -1,5 +1,6 @@
 package com.innowise.orderservice.model;
 
+import java.math.BigDecimal;
 import java.util.UUID;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -17,4 +18,5 @@ public class OrderItem {
     private UUID orderId;
     private UUID itemId;
     private Integer quantity;
+    private BigDecimal unitPrice;
 }
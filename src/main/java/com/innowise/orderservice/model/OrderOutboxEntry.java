@@ -0,0 +1,21 @@
+package com.innowise.orderservice.model;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderOutboxEntry {
+    private UUID id;
+    private UUID orderId;
+    private UUID userId;
+    private BigDecimal total;
+}
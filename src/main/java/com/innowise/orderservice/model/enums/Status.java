@@ -1,7 +1,22 @@
 package com.innowise.orderservice.model.enums;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum Status {
     NEW,
     PAID,
-    CANCELLED
+    CANCELLED;
+
+    /**
+     * Statuses this one may move to. A failed payment may still be followed by a successful one, but a
+     * paid order never goes back.
+     */
+    public Set<Status> nextStatuses() {
+        return switch (this) {
+            case NEW -> EnumSet.of(PAID, CANCELLED);
+            case CANCELLED -> EnumSet.of(PAID);
+            case PAID -> EnumSet.noneOf(Status.class);
+        };
+    }
 }
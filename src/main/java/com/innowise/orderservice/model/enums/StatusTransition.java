@@ -0,0 +1,8 @@
+package com.innowise.orderservice.model.enums;
+
+public enum StatusTransition {
+    APPLIED,
+    ALREADY_IN_STATE,
+    ILLEGAL,
+    NOT_FOUND
+}
@@ -0,0 +1,36 @@
+package com.innowise.orderservice.security;
+
+import java.util.Optional;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Resolves the Authorization header to forward to downstream services. On request threads it is read
+ * from the incoming request; on worker threads it is rebuilt from the bearer token that
+ * {@code AuthTokenFilter} stored in the propagated security context.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class AuthorizationContext {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    public static Optional<String> currentAuthorizationHeader() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return Optional.ofNullable(attributes.getRequest().getHeader(HttpHeaders.AUTHORIZATION));
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication instanceof UsernamePasswordAuthenticationToken
+                && authentication.getPrincipal() instanceof String token) {
+            return Optional.of(BEARER_PREFIX + token);
+        }
+
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,110 @@
+package com.innowise.orderservice.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers successful verifications by the SHA-256 of the token, so the raw token never sits in memory
+ * as a key. An entry lives for the configured TTL but never past the token's own {@code exp} claim.
+ * Concurrent callers with the same token wait on a single in-flight verification; failed verifications
+ * are not cached.
+ */
+public class CachingTokenVerifier implements TokenVerifier {
+
+    private static final String CACHE_NAME = "auth.tokens";
+    private static final long NO_EXPIRY = Long.MAX_VALUE;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final TokenVerifier delegate;
+    private final AsyncCache<String, Long> cache;
+
+    public CachingTokenVerifier(
+            TokenVerifier delegate,
+            long maximumSize,
+            Duration timeToLive,
+            MeterRegistry meterRegistry
+    ) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new TokenExpiry(timeToLive))
+                .recordStats()
+                .buildAsync();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), CACHE_NAME);
+    }
+
+    @Override
+    public boolean verify(String token) {
+        CompletableFuture<Long> verification = new CompletableFuture<>();
+        CompletableFuture<Long> result = cache.get(hash(token), (key, executor) -> verification);
+
+        if (result == verification) {
+            try {
+                verification.complete(delegate.verify(token) ? expiryOf(token) : null);
+            } catch (RuntimeException e) {
+                verification.completeExceptionally(e);
+            }
+        }
+
+        return result.join() != null;
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static long expiryOf(String token) {
+        String[] parts = token.split("\\.");
+        if (parts.length < 2) {
+            return NO_EXPIRY;
+        }
+
+        try {
+            JsonNode exp = OBJECT_MAPPER.readTree(Base64.getUrlDecoder().decode(parts[1])).get("exp");
+            return exp != null && exp.canConvertToLong()
+                    ? TimeUnit.SECONDS.toMillis(exp.asLong())
+                    : NO_EXPIRY;
+        } catch (IOException | IllegalArgumentException e) {
+            return NO_EXPIRY;
+        }
+    }
+
+    private record TokenExpiry(Duration timeToLive) implements Expiry<String, Long> {
+
+        @Override
+        public long expireAfterCreate(String key, Long expiresAt, long currentTime) {
+            long untilExpiry = Math.max(0, expiresAt - System.currentTimeMillis());
+            return Math.min(timeToLive.toNanos(), TimeUnit.MILLISECONDS.toNanos(untilExpiry));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Long expiresAt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Long expiresAt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
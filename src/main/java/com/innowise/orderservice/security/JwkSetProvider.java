@@ -0,0 +1,49 @@
+package com.innowise.orderservice.security;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.ParseException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+
+/**
+ * Holds the key set used for local token verification. The set is read from a {@code file:},
+ * {@code classpath:} or {@code http(s):} location and re-read on every {@link #refresh()}; a failed
+ * refresh keeps the previously loaded keys.
+ */
+@Slf4j
+public class JwkSetProvider implements JWKSource<SecurityContext> {
+
+    private final Resource location;
+    private final AtomicReference<JWKSet> jwkSet = new AtomicReference<>(new JWKSet());
+
+    public JwkSetProvider(Resource location) {
+        this.location = location;
+        refresh();
+    }
+
+    public void refresh() {
+        try (InputStream inputStream = location.getInputStream()) {
+            jwkSet.set(JWKSet.load(inputStream));
+        } catch (IOException | ParseException e) {
+            log.warn("Failed to load JWK set from {}, keeping {} previously loaded keys",
+                    location, jwkSet.get().getKeys().size(), e);
+        }
+    }
+
+    public JWKSet getJwkSet() {
+        return jwkSet.get();
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) {
+        return jwkSelector.select(jwkSet.get());
+    }
+}
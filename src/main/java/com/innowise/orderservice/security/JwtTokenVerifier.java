@@ -0,0 +1,78 @@
+package com.innowise.orderservice.security;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.SignedJWT;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import java.text.ParseException;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Set;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.jwt.JwtClaimNames;
+import org.springframework.security.oauth2.jwt.JwtClaimValidator;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+/**
+ * Verifies signature, {@code exp}, {@code nbf} and {@code iss} against the locally known key set.
+ * Tokens signed with a key id that is not in the set are handed to the fallback verifier, so keys
+ * rotated in the auth service keep working until the next key set refresh picks them up.
+ */
+public class JwtTokenVerifier implements TokenVerifier {
+
+    private static final Set<JWSAlgorithm> ALGORITHMS = Set.of(
+            JWSAlgorithm.RS256, JWSAlgorithm.RS384, JWSAlgorithm.RS512,
+            JWSAlgorithm.ES256, JWSAlgorithm.ES384, JWSAlgorithm.ES512,
+            JWSAlgorithm.HS256, JWSAlgorithm.HS384, JWSAlgorithm.HS512
+    );
+
+    private final JwkSetProvider jwkSetProvider;
+    private final TokenVerifier fallback;
+    private final NimbusJwtDecoder jwtDecoder;
+
+    public JwtTokenVerifier(JwkSetProvider jwkSetProvider, String issuer, TokenVerifier fallback) {
+        this.jwkSetProvider = jwkSetProvider;
+        this.fallback = fallback;
+
+        DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+        jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(ALGORITHMS, jwkSetProvider));
+        jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {});
+
+        this.jwtDecoder = new NimbusJwtDecoder(jwtProcessor);
+        this.jwtDecoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(
+                JwtValidators.createDefaultWithIssuer(issuer),
+                new JwtClaimValidator<Instant>(JwtClaimNames.EXP, Objects::nonNull)
+        ));
+    }
+
+    @Override
+    public boolean verify(String token) {
+        SignedJWT signedJwt;
+        try {
+            signedJwt = SignedJWT.parse(token);
+        } catch (ParseException e) {
+            return false;
+        }
+
+        if (!isKeyKnown(signedJwt.getHeader().getKeyID())) {
+            return fallback.verify(token);
+        }
+
+        try {
+            jwtDecoder.decode(token);
+            return true;
+        } catch (JwtException e) {
+            return false;
+        }
+    }
+
+    private boolean isKeyKnown(String keyId) {
+        if (keyId == null) {
+            return !jwkSetProvider.getJwkSet().getKeys().isEmpty();
+        }
+        return jwkSetProvider.getJwkSet().getKeyByKeyId(keyId) != null;
+    }
+}
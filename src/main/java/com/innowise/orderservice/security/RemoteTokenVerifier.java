@@ -0,0 +1,27 @@
+package com.innowise.orderservice.security;
+
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.client.RestTemplate;
+
+@RequiredArgsConstructor
+public class RemoteTokenVerifier implements TokenVerifier {
+
+    private final RestTemplate restTemplate;
+    private final String authServiceUrl;
+
+    @Override
+    public boolean verify(String token) {
+        Map<String, String> body = Map.of("token", token);
+
+        TokenValidationResponse validationResponse = restTemplate.postForObject(
+                authServiceUrl,
+                body,
+                TokenValidationResponse.class
+        );
+
+        return validationResponse != null && validationResponse.success();
+    }
+
+    public record TokenValidationResponse(boolean success) {}
+}
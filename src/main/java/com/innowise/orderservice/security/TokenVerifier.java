@@ -0,0 +1,5 @@
+package com.innowise.orderservice.security;
+
+public interface TokenVerifier {
+    boolean verify(String token);
+}
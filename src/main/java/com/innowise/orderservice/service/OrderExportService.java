@@ -0,0 +1,10 @@
+package com.innowise.orderservice.service;
+
+import com.innowise.orderservice.model.enums.ExportFormat;
+import com.innowise.orderservice.model.enums.Status;
+import java.io.OutputStream;
+import java.time.OffsetDateTime;
+
+public interface OrderExportService {
+    void export(Status status, OffsetDateTime from, OffsetDateTime to, ExportFormat format, OutputStream outputStream);
+}
@@ -2,6 +2,7 @@ package com.innowise.orderservice.service;
 
 import com.innowise.orderservice.dto.request.OrderItemRequest;
 import com.innowise.orderservice.dto.response.OrderItemResponse;
+import com.innowise.orderservice.service.pricing.PricedOrderItems;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -12,7 +13,8 @@ public interface OrderItemService {
     List<OrderItemResponse> findByOrderIds(Set<UUID> orderIds);
     List<OrderItemResponse> findByItemId(UUID itemId);
     OrderItemResponse findByOrderIdAndItemId(UUID orderId, UUID itemId);
-    List<OrderItemResponse> createAll(List<OrderItemRequest> orderItemRequests);
+    PricedOrderItems priceAll(List<OrderItemRequest> orderItemRequests);
+    List<OrderItemResponse> createAll(UUID orderId, PricedOrderItems pricedOrderItems);
     void deleteById(UUID id);
     void deleteByOrderId(UUID orderId);
     void deleteByItemId(UUID itemId);
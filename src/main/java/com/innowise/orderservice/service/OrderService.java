@@ -2,24 +2,30 @@ package com.innowise.orderservice.service;
 
 import com.innowise.orderservice.dto.request.OrderRequest;
 import com.innowise.orderservice.dto.request.UserOrderRequest;
+import com.innowise.orderservice.dto.response.OrderPageResponse;
 import com.innowise.orderservice.dto.response.OrderResponse;
 import com.innowise.orderservice.kafka.consumer.PaymentStatus;
 import com.innowise.orderservice.model.Order;
 import com.innowise.orderservice.model.enums.Status;
+import com.innowise.orderservice.model.enums.StatusTransition;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
 public interface OrderService {
     OrderResponse findById(UUID id);
     List<OrderResponse> findByStatus(Status status);
+    OrderPageResponse findPageByStatus(Status status, String cursor, int size);
     List<OrderResponse> findByIds(Set<UUID> ids);
     OrderResponse create(OrderRequest orderRequest);
     OrderResponse updateById(UUID id, OrderRequest orderRequest);
     void deleteById(UUID id);
     OrderResponse createForCurrentUser(UserOrderRequest userRequest, UUID userId);
-    OrderResponse updateStatusById(UUID id, PaymentStatus paymentStatus);
+    StatusTransition updateStatusById(UUID id, PaymentStatus paymentStatus);
+    Map<UUID, StatusTransition> updateStatuses(Map<UUID, PaymentStatus> paymentStatuses);
     List<OrderResponse> findByUserId(UUID userId);
+    OrderPageResponse findPageByUserId(UUID userId, String cursor, int size);
     OrderResponse findByIdAndUserId(UUID id, UUID userId);
     OrderResponse updateByIdAndUserId(UUID id, UUID userId, OrderRequest request);
     void deleteByIdAndUserId(UUID id, UUID userId);
@@ -0,0 +1,3 @@
+package com.innowise.orderservice.service.enrichment;
+
+public record Enrichment<I, U>(I items, U users) {}
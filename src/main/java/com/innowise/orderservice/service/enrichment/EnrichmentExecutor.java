@@ -0,0 +1,72 @@
+package com.innowise.orderservice.service.enrichment;
+
+import com.innowise.orderservice.configuration.ExecutorConfig;
+import com.innowise.orderservice.exception.custom.EnrichmentTimeoutException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Loads the items and the users of an order aggregate at the same time, so a read costs as much as
+ * the slowest lookup instead of their sum. Both lookups share one deadline. Inside a transaction the
+ * lookups run one after another on the calling thread, because the transaction's connection is bound
+ * to that thread.
+ */
+@Component
+public class EnrichmentExecutor {
+
+    private static final String DEADLINE_EXCEEDED = "Order enrichment did not complete within %d ms";
+
+    private final Executor executor;
+    private final Duration deadline;
+    private final Counter timeouts;
+
+    public EnrichmentExecutor(
+            @Qualifier(ExecutorConfig.VIRTUAL_THREAD_EXECUTOR) Executor executor,
+            @Value("${order.enrichment.deadline:2s}") Duration deadline,
+            MeterRegistry meterRegistry
+    ) {
+        this.executor = executor;
+        this.deadline = deadline;
+        this.timeouts = Counter.builder("order.enrichment.timeouts")
+                .register(meterRegistry);
+    }
+
+    public <I, U> Enrichment<I, U> enrich(Supplier<I> items, Supplier<U> users) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return new Enrichment<>(items.get(), users.get());
+        }
+
+        CompletableFuture<I> itemsLookup = CompletableFuture.supplyAsync(items, executor);
+        CompletableFuture<U> usersLookup = CompletableFuture.supplyAsync(users, executor);
+
+        try {
+            CompletableFuture.allOf(itemsLookup, usersLookup).get(deadline.toMillis(), TimeUnit.MILLISECONDS);
+            return new Enrichment<>(itemsLookup.join(), usersLookup.join());
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            throw new EnrichmentTimeoutException(String.format(DEADLINE_EXCEEDED, deadline.toMillis()), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } finally {
+            itemsLookup.cancel(true);
+            usersLookup.cancel(true);
+        }
+    }
+}
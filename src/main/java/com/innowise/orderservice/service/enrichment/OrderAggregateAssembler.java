@@ -0,0 +1,92 @@
+package com.innowise.orderservice.service.enrichment;
+
+import com.innowise.orderservice.client.user.UserFeignClient;
+import com.innowise.orderservice.client.user.UserResponse;
+import com.innowise.orderservice.dto.response.OrderItemResponse;
+import com.innowise.orderservice.dto.response.OrderResponse;
+import com.innowise.orderservice.mapper.OrderItemMapper;
+import com.innowise.orderservice.mapper.OrderMapper;
+import com.innowise.orderservice.model.Order;
+import com.innowise.orderservice.model.OrderAggregate;
+import com.innowise.orderservice.model.OrderLine;
+import com.innowise.orderservice.service.OrderItemService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds {@link OrderResponse}s with their items and users. A single order arrives with its lines already
+ * joined and only needs its user. For lists, orders are walked once to collect ids, the lookups run through
+ * {@link EnrichmentExecutor}, and the results are joined back through presized maps. An empty list makes
+ * no lookups. Users always go through the bulk lookup, which is served from the same cache and leaves the
+ * user of an order empty when user-service no longer knows it, so one deleted user never fails a listing.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderAggregateAssembler {
+
+    private final OrderItemService orderItemService;
+    private final UserFeignClient userFeignClient;
+    private final OrderMapper orderMapper;
+    private final OrderItemMapper orderItemMapper;
+    private final EnrichmentExecutor enrichmentExecutor;
+
+    public OrderResponse assemble(OrderAggregate aggregate) {
+        Order order = aggregate.getOrder();
+        UserResponse user = userFeignClient.getUserById(order.getUserId());
+
+        List<OrderItemResponse> items = new ArrayList<>(aggregate.getLines().size());
+        for (OrderLine line : aggregate.getLines()) {
+            items.add(orderItemMapper.toResponse(line));
+        }
+
+        OrderResponse response = orderMapper.toResponse(order);
+        response.setItems(items);
+        response.setUser(user);
+        return response;
+    }
+
+    public List<OrderResponse> assemble(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+
+        Set<UUID> orderIds = HashSet.newHashSet(orders.size());
+        Set<UUID> userIds = new LinkedHashSet<>();
+        for (Order order : orders) {
+            orderIds.add(order.getId());
+            userIds.add(order.getUserId());
+        }
+
+        Enrichment<List<OrderItemResponse>, List<UserResponse>> enrichment = enrichmentExecutor.enrich(
+                () -> orderItemService.findByOrderIds(orderIds),
+                () -> userFeignClient.getUsersByIds(List.copyOf(userIds))
+        );
+
+        Map<UUID, List<OrderItemResponse>> itemsByOrderId = HashMap.newHashMap(orderIds.size());
+        for (OrderItemResponse item : enrichment.items()) {
+            itemsByOrderId.computeIfAbsent(item.getOrderId(), id -> new ArrayList<>()).add(item);
+        }
+
+        Map<UUID, UserResponse> usersById = HashMap.newHashMap(enrichment.users().size());
+        for (UserResponse user : enrichment.users()) {
+            usersById.put(user.getId(), user);
+        }
+
+        List<OrderResponse> responses = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            OrderResponse response = orderMapper.toResponse(order);
+            response.setItems(itemsByOrderId.getOrDefault(order.getId(), List.of()));
+            response.setUser(usersById.get(order.getUserId()));
+            responses.add(response);
+        }
+        return responses;
+    }
+}
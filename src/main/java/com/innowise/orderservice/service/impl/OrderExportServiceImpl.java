@@ -0,0 +1,161 @@
+package com.innowise.orderservice.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innowise.orderservice.client.user.UserResponse;
+import com.innowise.orderservice.dao.OrderDao;
+import com.innowise.orderservice.dto.response.OrderItemResponse;
+import com.innowise.orderservice.dto.response.OrderResponse;
+import com.innowise.orderservice.model.Order;
+import com.innowise.orderservice.model.enums.ExportFormat;
+import com.innowise.orderservice.model.enums.Status;
+import com.innowise.orderservice.service.OrderExportService;
+import com.innowise.orderservice.service.enrichment.OrderAggregateAssembler;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Streams orders straight from a server-side cursor to the response. Rows are read {@code fetchSize} at a
+ * time inside a read-only transaction, enriched {@code chunkSize} orders at a time and flushed after every
+ * chunk, so memory stays bounded by the chunk size rather than the number of matching orders.
+ */
+@Service
+public class OrderExportServiceImpl implements OrderExportService {
+
+    private static final String CSV_HEADER = "id,user_id,user_email,status,creation_date,item_count,total_amount";
+
+    private final OrderDao orderDao;
+    private final OrderAggregateAssembler orderAggregateAssembler;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int fetchSize;
+    private final int chunkSize;
+
+    public OrderExportServiceImpl(
+            OrderDao orderDao,
+            OrderAggregateAssembler orderAggregateAssembler,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${order.export.fetch-size:1000}") int fetchSize,
+            @Value("${order.export.chunk-size:500}") int chunkSize
+    ) {
+        this.orderDao = orderDao;
+        this.orderAggregateAssembler = orderAggregateAssembler;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.fetchSize = fetchSize;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void export(
+            Status status,
+            OffsetDateTime from,
+            OffsetDateTime to,
+            ExportFormat format,
+            OutputStream outputStream
+    ) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        List<Order> chunk = new ArrayList<>(chunkSize);
+
+        if (format == ExportFormat.CSV) {
+            writeLine(writer, CSV_HEADER);
+        }
+
+        readOnlyTransaction.executeWithoutResult(transactionStatus -> {
+            orderDao.streamByFilter(status, from, to, fetchSize, order -> {
+                chunk.add(order);
+                if (chunk.size() == chunkSize) {
+                    writeChunk(chunk, format, writer);
+                }
+            });
+            writeChunk(chunk, format, writer);
+        });
+
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeChunk(List<Order> chunk, ExportFormat format, Writer writer) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        for (OrderResponse response : orderAggregateAssembler.assemble(chunk)) {
+            writeLine(writer, format == ExportFormat.CSV ? toCsv(response) : toJson(response));
+        }
+        chunk.clear();
+
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String toJson(OrderResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String toCsv(OrderResponse response) {
+        BigDecimal totalAmount = response.getTotal();
+        if (totalAmount == null) {
+            totalAmount = BigDecimal.ZERO;
+            for (OrderItemResponse item : response.getItems()) {
+                totalAmount = totalAmount.add(
+                        item.getItem().getPrice().multiply(BigDecimal.valueOf(item.getQuantity())));
+            }
+        }
+
+        UserResponse user = response.getUser();
+        return String.join(",",
+                response.getId().toString(),
+                user == null ? "" : user.getId().toString(),
+                user == null ? "" : escapeCsv(user.getEmail()),
+                response.getStatus().name(),
+                response.getCreationDate().toString(),
+                String.valueOf(response.getItems().size()),
+                totalAmount.toPlainString()
+        );
+    }
+
+    private static String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static void writeLine(Writer writer, String line) {
+        try {
+            writer.write(line);
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
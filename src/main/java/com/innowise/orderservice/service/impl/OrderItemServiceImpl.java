@@ -1,5 +1,6 @@
 package com.innowise.orderservice.service.impl;
 
+import com.innowise.orderservice.dao.ItemDao;
 import com.innowise.orderservice.dao.OrderItemDao;
 import com.innowise.orderservice.dto.request.OrderItemRequest;
 import com.innowise.orderservice.dto.response.ItemResponse;
@@ -7,26 +8,51 @@ import com.innowise.orderservice.dto.response.OrderItemResponse;
 import com.innowise.orderservice.exception.custom.DuplicateItemInOrderException;
 import com.innowise.orderservice.exception.custom.ItemNotFoundException;
 import com.innowise.orderservice.exception.custom.OrderItemNotFoundException;
+import com.innowise.orderservice.mapper.ItemMapper;
 import com.innowise.orderservice.mapper.OrderItemMapper;
+import com.innowise.orderservice.model.Item;
 import com.innowise.orderservice.model.OrderItem;
 import com.innowise.orderservice.service.ItemService;
 import com.innowise.orderservice.service.OrderItemService;
+import com.innowise.orderservice.service.pricing.PricedOrderItems;
+import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Order item prices are snapshotted when the items are created, so they are read through the uncached
+ * {@link ItemDao} inside the order transaction rather than from the item near-cache, which may lag behind
+ * a commit.
+ */
 @Service
-@RequiredArgsConstructor
 public class OrderItemServiceImpl implements OrderItemService {
 
     private final OrderItemDao orderItemDao;
     private final ItemService itemService;
+    private final ItemDao itemDao;
     private final OrderItemMapper orderItemMapper;
+    private final ItemMapper itemMapper;
+
+    public OrderItemServiceImpl(
+            OrderItemDao orderItemDao,
+            ItemService itemService,
+            @Qualifier(ItemDao.QUALIFIER) ItemDao itemDao,
+            OrderItemMapper orderItemMapper,
+            ItemMapper itemMapper
+    ) {
+        this.orderItemDao = orderItemDao;
+        this.itemService = itemService;
+        this.itemDao = itemDao;
+        this.orderItemMapper = orderItemMapper;
+        this.itemMapper = itemMapper;
+    }
 
     @Override
     public OrderItemResponse findById(UUID id) {
@@ -36,7 +62,7 @@ public class OrderItemServiceImpl implements OrderItemService {
         ItemResponse item = itemService.findById(orderItem.getItemId());
 
         OrderItemResponse response = orderItemMapper.toResponse(orderItem);
-        response.setItem(item);
+        response.setItem(atUnitPrice(item, orderItem));
         return response;
     }
 
@@ -60,7 +86,7 @@ public class OrderItemServiceImpl implements OrderItemService {
         return orderItems.stream()
                 .map(orderItem -> {
                     OrderItemResponse response = orderItemMapper.toResponse(orderItem);
-                    response.setItem(itemMap.get(orderItem.getItemId()));
+                    response.setItem(atUnitPrice(itemMap.get(orderItem.getItemId()), orderItem));
                     return response;
                 })
                 .toList();
@@ -68,27 +94,8 @@ public class OrderItemServiceImpl implements OrderItemService {
 
     @Override
     public List<OrderItemResponse> findByOrderIds(Set<UUID> orderIds) {
-        List<OrderItem> orderItems = orderItemDao.findByOrderIds(orderIds);
-
-        if (orderItems.isEmpty()) {
-            return List.of();
-        }
-
-        Set<UUID> itemIds = orderItems.stream()
-                .map(OrderItem::getItemId)
-                .collect(Collectors.toSet());
-
-        List<ItemResponse> items = itemService.findByIds(itemIds);
-
-        Map<UUID, ItemResponse> itemMap = items.stream()
-                .collect(Collectors.toMap(ItemResponse::getId, item -> item));
-
-        return orderItems.stream()
-                .map(orderItem -> {
-                    OrderItemResponse response = orderItemMapper.toResponse(orderItem);
-                    response.setItem(itemMap.get(orderItem.getItemId()));
-                    return response;
-                })
+        return orderItemDao.findLinesByOrderIds(orderIds).stream()
+                .map(orderItemMapper::toResponse)
                 .toList();
     }
 
@@ -109,9 +116,9 @@ public class OrderItemServiceImpl implements OrderItemService {
 
     @Override
     @Transactional
-    public List<OrderItemResponse> createAll(List<OrderItemRequest> orderItemRequests) {
+    public PricedOrderItems priceAll(List<OrderItemRequest> orderItemRequests) {
         if (orderItemRequests == null || orderItemRequests.isEmpty()) {
-            return List.of();
+            return PricedOrderItems.empty();
         }
 
         Set<UUID> itemIds = orderItemRequests.stream()
@@ -122,30 +129,59 @@ public class OrderItemServiceImpl implements OrderItemService {
             throw new DuplicateItemInOrderException("Same items in one order");
         }
 
-        List<ItemResponse> items = itemService.findByIds(itemIds);
+        List<Item> items = itemDao.findByIds(itemIds);
 
         if (items.size() != itemIds.size()) {
             throw new ItemNotFoundException("Some items in the order do not exist");
         }
 
-        List<OrderItem> orderItems = orderItemRequests.stream()
-                .map(orderItemMapper::toEntity)
-                .toList();
+        Map<UUID, ItemResponse> itemMap = items.stream()
+                .collect(Collectors.toMap(Item::getId, itemMapper::toResponse));
 
-        List<OrderItem> createdOrderItems = orderItemDao.createAll(orderItems);
+        List<OrderItem> orderItems = new ArrayList<>(orderItemRequests.size());
+        BigDecimal total = BigDecimal.ZERO;
+        for (OrderItemRequest orderItemRequest : orderItemRequests) {
+            BigDecimal price = itemMap.get(orderItemRequest.getItemId()).getPrice();
+            total = total.add(price.multiply(BigDecimal.valueOf(orderItemRequest.getQuantity())));
 
-        Map<UUID, ItemResponse> itemMap = items.stream()
-                .collect(Collectors.toMap(ItemResponse::getId, item -> item));
+            OrderItem orderItem = orderItemMapper.toEntity(orderItemRequest);
+            orderItem.setUnitPrice(price);
+            orderItems.add(orderItem);
+        }
+
+        return new PricedOrderItems(orderItems, itemMap, total);
+    }
+
+    @Override
+    @Transactional
+    public List<OrderItemResponse> createAll(UUID orderId, PricedOrderItems pricedOrderItems) {
+        if (pricedOrderItems.isEmpty()) {
+            return List.of();
+        }
+
+        List<OrderItem> orderItems = pricedOrderItems.orderItems();
+        orderItems.forEach(orderItem -> orderItem.setOrderId(orderId));
+
+        List<OrderItem> createdOrderItems = orderItemDao.createAll(orderItems);
 
         return createdOrderItems.stream()
                 .map(orderItem -> {
                     OrderItemResponse response = orderItemMapper.toResponse(orderItem);
-                    response.setItem(itemMap.get(orderItem.getItemId()));
+                    response.setItem(pricedOrderItems.items().get(orderItem.getItemId()));
                     return response;
                 })
                 .toList();
     }
 
+    private static ItemResponse atUnitPrice(ItemResponse item, OrderItem orderItem) {
+        BigDecimal unitPrice = orderItem.getUnitPrice();
+        if (item == null || unitPrice == null || unitPrice.compareTo(item.getPrice()) == 0) {
+            return item;
+        }
+
+        return new ItemResponse(item.getId(), item.getName(), unitPrice);
+    }
+
     @Override
     @Transactional
     public void deleteById(UUID id) {
@@ -3,25 +3,30 @@ package com.innowise.orderservice.service.impl;
 import com.innowise.orderservice.client.user.UserFeignClient;
 import com.innowise.orderservice.client.user.UserResponse;
 import com.innowise.orderservice.dao.OrderDao;
+import com.innowise.orderservice.dao.OrderOutboxDao;
 import com.innowise.orderservice.dto.request.OrderRequest;
 import com.innowise.orderservice.dto.request.UserOrderRequest;
 import com.innowise.orderservice.dto.response.OrderItemResponse;
+import com.innowise.orderservice.dto.response.OrderPageResponse;
 import com.innowise.orderservice.dto.response.OrderResponse;
 import com.innowise.orderservice.exception.custom.OrderNotFoundException;
 import com.innowise.orderservice.kafka.consumer.PaymentStatus;
-import com.innowise.orderservice.kafka.producer.OrderCreatedEventProducer;
-import com.innowise.orderservice.kafka.producer.OrderCreatedEvent;
 import com.innowise.orderservice.mapper.OrderMapper;
 import com.innowise.orderservice.model.Order;
+import com.innowise.orderservice.model.OrderAggregate;
+import com.innowise.orderservice.model.OrderCursor;
+import com.innowise.orderservice.model.OrderOutboxEntry;
 import com.innowise.orderservice.model.enums.Status;
+import com.innowise.orderservice.model.enums.StatusTransition;
 import com.innowise.orderservice.service.OrderItemService;
 import com.innowise.orderservice.service.OrderService;
-import java.math.BigDecimal;
+import com.innowise.orderservice.service.enrichment.OrderAggregateAssembler;
+import com.innowise.orderservice.service.pricing.PricedOrderItems;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -30,61 +35,38 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class OrderServiceImpl implements OrderService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final OrderDao orderDao;
     private final OrderItemService orderItemService;
     private final OrderMapper orderMapper;
 
     private final UserFeignClient userFeignClient;
+    private final OrderAggregateAssembler orderAggregateAssembler;
 
-    private final OrderCreatedEventProducer orderCreatedEventProducer;
+    private final OrderOutboxDao orderOutboxDao;
 
     @Override
     public OrderResponse findById(UUID id) {
-        Order order = orderDao.findById(id)
+        OrderAggregate aggregate = orderDao.findAggregateById(id)
                 .orElseThrow(() -> new OrderNotFoundException("Order not found"));
 
-        List<OrderItemResponse> items = orderItemService.findByOrderId(id);
-        UserResponse user = userFeignClient.getUserById(order.getUserId());
-
-        OrderResponse response = orderMapper.toResponse(order);
-        response.setItems(items);
-        response.setUser(user);
-        return response;
+        return orderAggregateAssembler.assemble(aggregate);
     }
 
     @Override
     public List<OrderResponse> findByStatus(Status status) {
         List<Order> orders = orderDao.findByStatus(status);
-        if (orders.isEmpty()) {
-            return List.of();
-        }
-
-        List<UUID> orderIds = orders.stream()
-                .map(Order::getId)
-                .toList();
-
-        List<UUID> userIds = orders.stream()
-                .map(Order::getUserId)
-                .toList();
-
-        List<OrderItemResponse> allItems = orderItemService.findByOrderIds(Set.copyOf(orderIds));
-
-        List<UserResponse> users = userFeignClient.getUsersByIds(userIds);
-        Map<UUID, UserResponse> usersById = users.stream()
-                .collect(Collectors.toMap(UserResponse::getId, u -> u));
 
+        return orderAggregateAssembler.assemble(orders);
+    }
 
-        Map<UUID, List<OrderItemResponse>> itemsByOrderId = allItems.stream()
-                .collect(Collectors.groupingBy(OrderItemResponse::getOrderId));
+    @Override
+    public OrderPageResponse findPageByStatus(Status status, String cursor, int size) {
+        int limit = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        List<Order> orders = orderDao.findPageByStatus(status, decodeCursor(cursor), limit + 1);
 
-        return orders.stream()
-                .map(order -> {
-                    OrderResponse response = orderMapper.toResponse(order);
-                    response.setItems(itemsByOrderId.getOrDefault(order.getId(), List.of()));
-                    response.setUser(usersById.get(order.getUserId()));
-                    return response;
-                })
-                .toList();
+        return toPage(orders, limit);
     }
 
     @Override
@@ -94,48 +76,22 @@ public class OrderServiceImpl implements OrderService {
         }
 
         List<Order> orders = orderDao.findByIds(ids);
-        if (orders.isEmpty()) {
-            return List.of();
-        }
-
-        List<UUID> orderIds = orders.stream()
-                .map(Order::getId)
-                .toList();
 
-        List<UUID> userIds = orders.stream()
-                .map(Order::getUserId)
-                .toList();
-
-        List<OrderItemResponse> allItems = orderItemService.findByOrderIds(Set.copyOf(orderIds));
-
-        List<UserResponse> users = userFeignClient.getUsersByIds(userIds);
-        Map<UUID, UserResponse> usersById = users.stream()
-                .collect(Collectors.toMap(UserResponse::getId, u -> u));
-
-
-        Map<UUID, List<OrderItemResponse>> itemsByOrderId = allItems.stream()
-                .collect(Collectors.groupingBy(OrderItemResponse::getOrderId));
-
-        return orders.stream()
-                .map(order -> {
-                    OrderResponse response = orderMapper.toResponse(order);
-                    response.setItems(itemsByOrderId.getOrDefault(order.getId(), List.of()));
-                    response.setUser(usersById.get(order.getUserId()));
-                    return response;
-                })
-                .toList();
+        return orderAggregateAssembler.assemble(orders);
     }
 
-    private BigDecimal calculateTotalAmount(OrderResponse orderResponse) {
-        if (orderResponse.getItems() == null || orderResponse.getItems().isEmpty()) {
-            return BigDecimal.ZERO;
+    private OrderPageResponse toPage(List<Order> orders, int limit) {
+        if (orders.size() <= limit) {
+            return new OrderPageResponse(orderAggregateAssembler.assemble(orders), null);
         }
 
-        return orderResponse.getItems().stream()
-                .filter(item -> item.getItem() != null && item.getItem().getPrice() != null)
-                .map(item -> item.getItem().getPrice()
-                        .multiply(BigDecimal.valueOf(item.getQuantity())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        List<Order> page = orders.subList(0, limit);
+        String nextCursor = OrderCursor.after(page.getLast()).encode();
+        return new OrderPageResponse(orderAggregateAssembler.assemble(page), nextCursor);
+    }
+
+    private static OrderCursor decodeCursor(String cursor) {
+        return cursor == null || cursor.isBlank() ? null : OrderCursor.decode(cursor);
     }
 
     @Override
@@ -143,27 +99,25 @@ public class OrderServiceImpl implements OrderService {
     public OrderResponse create(OrderRequest orderRequest) {
         UserResponse user = userFeignClient.getUserById(orderRequest.getUserId());
 
+        PricedOrderItems pricedItems = orderItemService.priceAll(orderRequest.getOrderItems());
+
         Order order = orderMapper.toEntity(orderRequest);
         order.setStatus(Status.NEW);
+        order.setTotal(pricedItems.total());
 
         Order savedOrder = orderDao.create(order);
 
-        List<OrderItemResponse> savedItems = List.of();
-        if (orderRequest.getOrderItems() != null && !orderRequest.getOrderItems().isEmpty()) {
-            orderRequest.getOrderItems().forEach(item -> item.setOrderId(savedOrder.getId()));
-
-            savedItems = orderItemService.createAll(orderRequest.getOrderItems());
-        }
+        List<OrderItemResponse> savedItems = orderItemService.createAll(savedOrder.getId(), pricedItems);
 
         OrderResponse response = orderMapper.toResponse(savedOrder);
         response.setItems(savedItems);
         response.setUser(user);
 
-        OrderCreatedEvent orderCreatedEvent = new OrderCreatedEvent(
-                response.getId(),
-                response.getUser().getId(),
-                calculateTotalAmount(response));
-        orderCreatedEventProducer.send(orderCreatedEvent);
+        orderOutboxDao.create(OrderOutboxEntry.builder()
+                .orderId(response.getId())
+                .userId(response.getUser().getId())
+                .total(savedOrder.getTotal())
+                .build());
 
         return response;
     }
@@ -179,15 +133,19 @@ public class OrderServiceImpl implements OrderService {
 
         existingOrder.setUserId(orderRequest.getUserId());
 
+        PricedOrderItems pricedItems = orderItemService.priceAll(orderRequest.getOrderItems());
+        if (!pricedItems.isEmpty()) {
+            existingOrder.setTotal(pricedItems.total());
+        }
+
         Order updatedOrder = orderDao.updateById(id, existingOrder);
 
         List<OrderItemResponse> updatedItems = List.of();
 
-        if (orderRequest.getOrderItems() != null && !orderRequest.getOrderItems().isEmpty()) {
+        if (!pricedItems.isEmpty()) {
             orderItemService.deleteByOrderId(id);
 
-            orderRequest.getOrderItems().forEach(item -> item.setOrderId(id));
-            updatedItems = orderItemService.createAll(orderRequest.getOrderItems());
+            updatedItems = orderItemService.createAll(id, pricedItems);
         }
 
         OrderResponse response = orderMapper.toResponse(updatedOrder);
@@ -208,88 +166,68 @@ public class OrderServiceImpl implements OrderService {
     public OrderResponse createForCurrentUser(UserOrderRequest userRequest, UUID userId) {
         UserResponse user = userFeignClient.getUserById(userId);
 
+        PricedOrderItems pricedItems = orderItemService.priceAll(userRequest.getOrderItems());
+
         Order order = new Order();
         order.setUserId(userId);
         order.setStatus(Status.NEW);
+        order.setTotal(pricedItems.total());
 
         Order savedOrder = orderDao.create(order);
 
-        List<OrderItemResponse> savedItems = List.of();
-        if (userRequest.getOrderItems() != null && !userRequest.getOrderItems().isEmpty()) {
-            userRequest.getOrderItems().forEach(item -> item.setOrderId(savedOrder.getId()));
-
-            savedItems = orderItemService.createAll(userRequest.getOrderItems());
-        }
+        List<OrderItemResponse> savedItems = orderItemService.createAll(savedOrder.getId(), pricedItems);
 
         OrderResponse response = orderMapper.toResponse(savedOrder);
         response.setItems(savedItems);
         response.setUser(user);
 
-        OrderCreatedEvent orderCreatedEvent = new OrderCreatedEvent(
-                response.getId(),
-                response.getUser().getId(),
-                calculateTotalAmount(response));
-        orderCreatedEventProducer.send(orderCreatedEvent);
+        orderOutboxDao.create(OrderOutboxEntry.builder()
+                .orderId(response.getId())
+                .userId(response.getUser().getId())
+                .total(savedOrder.getTotal())
+                .build());
 
         return response;
     }
 
     @Override
-    public OrderResponse updateStatusById(UUID id, PaymentStatus paymentStatus) {
-        Order existingOrder = orderDao.findById(id)
-                .orElseThrow(() -> new OrderNotFoundException("Order not found"));
+    public StatusTransition updateStatusById(UUID id, PaymentStatus paymentStatus) {
+        return orderDao.transitionStatuses(Map.of(id, toStatus(paymentStatus))).get(id);
+    }
 
-        existingOrder.setStatus(paymentStatus == PaymentStatus.SUCCESS ? Status.PAID : Status.CANCELLED);
+    @Override
+    public Map<UUID, StatusTransition> updateStatuses(Map<UUID, PaymentStatus> paymentStatuses) {
+        Map<UUID, Status> statuses = HashMap.newHashMap(paymentStatuses.size());
+        paymentStatuses.forEach((id, paymentStatus) -> statuses.put(id, toStatus(paymentStatus)));
 
-        Order updatedOrder = orderDao.updateById(id, existingOrder);
+        return orderDao.transitionStatuses(statuses);
+    }
 
-        return orderMapper.toResponse(updatedOrder);
+    private static Status toStatus(PaymentStatus paymentStatus) {
+        return paymentStatus == PaymentStatus.SUCCESS ? Status.PAID : Status.CANCELLED;
     }
 
     @Override
     public List<OrderResponse> findByUserId(UUID userId) {
         List<Order> orders = orderDao.findByUserId(userId);
 
-        List<UUID> orderIds = orders.stream()
-                .map(Order::getId)
-                .toList();
-
-        List<UUID> userIds = orders.stream()
-                .map(Order::getUserId)
-                .toList();
-
-        List<OrderItemResponse> allItems = orderItemService.findByOrderIds(Set.copyOf(orderIds));
-
-        List<UserResponse> users = userFeignClient.getUsersByIds(userIds);
-        Map<UUID, UserResponse> usersById = users.stream()
-                .collect(Collectors.toMap(UserResponse::getId, u -> u));
-
+        return orderAggregateAssembler.assemble(orders);
+    }
 
-        Map<UUID, List<OrderItemResponse>> itemsByOrderId = allItems.stream()
-                .collect(Collectors.groupingBy(OrderItemResponse::getOrderId));
+    @Override
+    public OrderPageResponse findPageByUserId(UUID userId, String cursor, int size) {
+        int limit = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        List<Order> orders = orderDao.findPageByUserId(userId, decodeCursor(cursor), limit + 1);
 
-        return orders.stream()
-                .map(order -> {
-                    OrderResponse response = orderMapper.toResponse(order);
-                    response.setItems(itemsByOrderId.getOrDefault(order.getId(), List.of()));
-                    response.setUser(usersById.get(order.getUserId()));
-                    return response;
-                })
-                .toList();
+        return toPage(orders, limit);
     }
 
     @Override
     public OrderResponse findByIdAndUserId(UUID id, UUID userId) {
-        Order order = orderDao.findByIdAndUserId(id, userId)
+        OrderAggregate aggregate = orderDao.findAggregateByIdAndUserId(id, userId)
                 .orElseThrow(() -> new OrderNotFoundException("Order not found"));
 
-        List<OrderItemResponse> items = orderItemService.findByOrderId(id);
-        UserResponse user = userFeignClient.getUserById(order.getUserId());
-
-        OrderResponse response = orderMapper.toResponse(order);
-        response.setItems(items);
-        response.setUser(user);
-        return response;
+        return orderAggregateAssembler.assemble(aggregate);
     }
 
     public OrderResponse updateByIdAndUserId(UUID id, UUID userId, OrderRequest request) {
@@ -310,64 +248,14 @@ public class OrderServiceImpl implements OrderService {
     public List<OrderResponse> findByStatusAndUserId(Status status, UUID userId) {
         List<Order> orders = orderDao.findByStatusAndUserId(status, userId);
 
-        List<UUID> orderIds = orders.stream()
-                .map(Order::getId)
-                .toList();
-
-        List<UUID> userIds = orders.stream()
-                .map(Order::getUserId)
-                .toList();
-
-        List<OrderItemResponse> allItems = orderItemService.findByOrderIds(Set.copyOf(orderIds));
-
-        List<UserResponse> users = userFeignClient.getUsersByIds(userIds);
-        Map<UUID, UserResponse> usersById = users.stream()
-                .collect(Collectors.toMap(UserResponse::getId, u -> u));
-
-
-        Map<UUID, List<OrderItemResponse>> itemsByOrderId = allItems.stream()
-                .collect(Collectors.groupingBy(OrderItemResponse::getOrderId));
-
-        return orders.stream()
-                .map(order -> {
-                    OrderResponse response = orderMapper.toResponse(order);
-                    response.setItems(itemsByOrderId.getOrDefault(order.getId(), List.of()));
-                    response.setUser(usersById.get(order.getUserId()));
-                    return response;
-                })
-                .toList();
+        return orderAggregateAssembler.assemble(orders);
     }
 
     @Override
     public List<OrderResponse> findByIdsAndUserId(Set<UUID> ids, UUID userId) {
         List<Order> orders = orderDao.findByIdsAndUserId(ids, userId);
 
-        List<UUID> orderIds = orders.stream()
-                .map(Order::getId)
-                .toList();
-
-        List<UUID> userIds = orders.stream()
-                .map(Order::getUserId)
-                .toList();
-
-        List<OrderItemResponse> allItems = orderItemService.findByOrderIds(Set.copyOf(orderIds));
-
-        List<UserResponse> users = userFeignClient.getUsersByIds(userIds);
-        Map<UUID, UserResponse> usersById = users.stream()
-                .collect(Collectors.toMap(UserResponse::getId, u -> u));
-
-
-        Map<UUID, List<OrderItemResponse>> itemsByOrderId = allItems.stream()
-                .collect(Collectors.groupingBy(OrderItemResponse::getOrderId));
-
-        return orders.stream()
-                .map(order -> {
-                    OrderResponse response = orderMapper.toResponse(order);
-                    response.setItems(itemsByOrderId.getOrDefault(order.getId(), List.of()));
-                    response.setUser(usersById.get(order.getUserId()));
-                    return response;
-                })
-                .toList();
+        return orderAggregateAssembler.assemble(orders);
     }
 
 }
@@ -0,0 +1,23 @@
+package com.innowise.orderservice.service.pricing;
+
+import com.innowise.orderservice.dto.response.ItemResponse;
+import com.innowise.orderservice.model.OrderItem;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Order items with their price snapshots and the order total, priced before the order row is written so
+ * the total goes into the same insert or update.
+ */
+public record PricedOrderItems(List<OrderItem> orderItems, Map<UUID, ItemResponse> items, BigDecimal total) {
+
+    public static PricedOrderItems empty() {
+        return new PricedOrderItems(List.of(), Map.of(), BigDecimal.ZERO);
+    }
+
+    public boolean isEmpty() {
+        return orderItems.isEmpty();
+    }
+}
@@ -0,0 +1,131 @@
+package com.innowise.orderservice.client.user;
+
+import com.innowise.orderservice.exception.custom.UserLookupException;
+import feign.FeignException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static com.innowise.orderservice.constants.TestConstants.USER_ID;
+import static com.innowise.orderservice.constants.TestConstants.USER_ID_2;
+import static com.innowise.orderservice.constants.TestConstants.USER_ID_3;
+import static com.innowise.orderservice.constants.TestConstants.USER_RESPONSE;
+import static com.innowise.orderservice.constants.TestConstants.USER_RESPONSE_2;
+import static com.innowise.orderservice.constants.TestConstants.USER_RESPONSE_3;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachingUserFeignClientTest {
+
+    @Mock
+    private UserFeignClient delegate;
+
+    @Mock
+    private UserLookupBatcher userLookupBatcher;
+
+    private CachingUserFeignClient cachingUserFeignClient;
+
+    @BeforeEach
+    void setUp() {
+        cachingUserFeignClient = new CachingUserFeignClient(
+                delegate,
+                new UserBatchLoader(delegate, Runnable::run, 200),
+                userLookupBatcher,
+                100,
+                Duration.ofMinutes(10),
+                Duration.ofSeconds(1),
+                new SimpleMeterRegistry()
+        );
+    }
+
+    @Test
+    void givenCachedUser_whenGetUserById_thenLookUpOnce() {
+        when(userLookupBatcher.submit(USER_ID)).thenReturn(CompletableFuture.completedFuture(USER_RESPONSE));
+
+        assertThat(cachingUserFeignClient.getUserById(USER_ID)).isEqualTo(USER_RESPONSE);
+        assertThat(cachingUserFeignClient.getUserById(USER_ID)).isEqualTo(USER_RESPONSE);
+
+        verify(userLookupBatcher, times(1)).submit(USER_ID);
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    void givenUserMissingFromBatch_whenGetUserById_thenRequestItIndividually() {
+        FeignException notFound = mock(FeignException.class);
+        when(userLookupBatcher.submit(USER_ID)).thenReturn(CompletableFuture.completedFuture(null));
+        when(delegate.getUserById(USER_ID)).thenThrow(notFound);
+
+        assertThrows(FeignException.class, () -> cachingUserFeignClient.getUserById(USER_ID));
+    }
+
+    @Test
+    void givenPartiallyCachedUsers_whenGetUsersByIds_thenFetchOnlyMisses() {
+        when(userLookupBatcher.submit(USER_ID)).thenReturn(CompletableFuture.completedFuture(USER_RESPONSE));
+        when(delegate.getUsersByIds(anyList())).thenReturn(List.of(USER_RESPONSE_2, USER_RESPONSE_3));
+        cachingUserFeignClient.getUserById(USER_ID);
+
+        List<UserResponse> users = cachingUserFeignClient.getUsersByIds(List.of(USER_ID, USER_ID_2, USER_ID_3, USER_ID_2));
+
+        assertThat(users).containsExactlyInAnyOrder(USER_RESPONSE, USER_RESPONSE_2, USER_RESPONSE_3);
+        verify(delegate).getUsersByIds(argThat(ids ->
+                ids.size() == 2 && ids.containsAll(List.of(USER_ID_2, USER_ID_3))));
+    }
+
+    @Test
+    void givenAllUsersCached_whenGetUsersByIds_thenSkipUserService() {
+        when(delegate.getUsersByIds(anyList())).thenReturn(List.of(USER_RESPONSE, USER_RESPONSE_2));
+        cachingUserFeignClient.getUsersByIds(List.of(USER_ID, USER_ID_2));
+
+        List<UserResponse> users = cachingUserFeignClient.getUsersByIds(List.of(USER_ID_2, USER_ID));
+
+        assertThat(users).containsExactlyInAnyOrder(USER_RESPONSE_2, USER_RESPONSE);
+        verify(delegate, times(1)).getUsersByIds(anyList());
+    }
+
+    @Test
+    void givenFailedLookup_whenGetUserById_thenPropagateAndDoNotCache() {
+        FeignException unavailable = mock(FeignException.class);
+        when(userLookupBatcher.submit(USER_ID))
+                .thenReturn(CompletableFuture.failedFuture(unavailable))
+                .thenReturn(CompletableFuture.completedFuture(USER_RESPONSE));
+
+        assertThrows(FeignException.class, () -> cachingUserFeignClient.getUserById(USER_ID));
+        assertThat(cachingUserFeignClient.getUserById(USER_ID)).isEqualTo(USER_RESPONSE);
+    }
+
+    @Test
+    void givenLookupThatNeverCompletes_whenGetUserById_thenFailAfterLookupTimeout() {
+        when(userLookupBatcher.submit(USER_ID)).thenReturn(new CompletableFuture<>());
+
+        assertThrows(UserLookupException.class, () -> cachingUserFeignClient.getUserById(USER_ID));
+    }
+
+    @Test
+    void givenConcurrentLookupsOfSameUser_whenGetUserById_thenShareSingleLookup() throws Exception {
+        CompletableFuture<UserResponse> lookup = new CompletableFuture<>();
+        when(userLookupBatcher.submit(USER_ID)).thenReturn(lookup);
+
+        CompletableFuture<UserResponse> first = CompletableFuture.supplyAsync(() -> cachingUserFeignClient.getUserById(USER_ID));
+        CompletableFuture<UserResponse> second = CompletableFuture.supplyAsync(() -> cachingUserFeignClient.getUserById(USER_ID));
+        lookup.complete(USER_RESPONSE);
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(USER_RESPONSE);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(USER_RESPONSE);
+        verify(userLookupBatcher, times(1)).submit(USER_ID);
+    }
+}
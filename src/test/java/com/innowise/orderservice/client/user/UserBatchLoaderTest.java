@@ -0,0 +1,133 @@
+package com.innowise.orderservice.client.user;
+
+import com.innowise.orderservice.exception.custom.UserLookupException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserBatchLoaderTest {
+
+    private static final int CHUNK_SIZE = 200;
+
+    @Mock
+    private UserFeignClient delegate;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private UserBatchLoader userBatchLoader;
+
+    @BeforeEach
+    void setUp() {
+        userBatchLoader = new UserBatchLoader(delegate, executor, CHUNK_SIZE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void givenNoIds_whenLoad_thenSkipUserService() {
+        assertThat(userBatchLoader.load(List.of())).isEmpty();
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    void givenTenThousandDistinctIds_whenLoad_thenRequestBoundedChunksAndMergeResults() {
+        List<UUID> ids = randomIds(10_000);
+        when(delegate.getUsersByIds(anyList())).thenAnswer(invocation -> usersFor(invocation.getArgument(0)));
+
+        List<UserResponse> users = userBatchLoader.load(ids);
+
+        assertThat(users).extracting(UserResponse::getId).containsExactlyInAnyOrderElementsOf(ids);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<UUID>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(delegate, times(50)).getUsersByIds(chunks.capture());
+        assertThat(chunks.getAllValues()).allSatisfy(chunk -> assertThat(chunk).hasSizeLessThanOrEqualTo(CHUNK_SIZE));
+    }
+
+    @Test
+    void givenTenThousandIdsOfFewUsers_whenLoad_thenRequestEachUserOnce() {
+        List<UUID> distinctIds = randomIds(50);
+        List<UUID> ids = new ArrayList<>(10_000);
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(distinctIds.get(i % distinctIds.size()));
+        }
+        when(delegate.getUsersByIds(distinctIds)).thenReturn(usersFor(distinctIds));
+
+        List<UserResponse> users = userBatchLoader.load(ids);
+
+        assertThat(users).hasSize(distinctIds.size());
+        verify(delegate, times(1)).getUsersByIds(anyList());
+    }
+
+    @Test
+    void givenSeveralChunks_whenLoad_thenRequestChunksInParallel() {
+        CountDownLatch allChunksStarted = new CountDownLatch(2);
+        when(delegate.getUsersByIds(anyList())).thenAnswer(invocation -> {
+            allChunksStarted.countDown();
+            if (!allChunksStarted.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Chunks were requested sequentially");
+            }
+            return usersFor(invocation.getArgument(0));
+        });
+
+        List<UserResponse> users = userBatchLoader.load(randomIds(2 * CHUNK_SIZE));
+
+        assertThat(users).hasSize(2 * CHUNK_SIZE);
+    }
+
+    @Test
+    void givenFailingChunks_whenLoad_thenReportEveryFailure() {
+        AtomicInteger calls = new AtomicInteger();
+        when(delegate.getUsersByIds(anyList())).thenAnswer(invocation -> {
+            if (calls.incrementAndGet() % 10 == 0) {
+                throw new IllegalStateException("user-service is down");
+            }
+            return usersFor(invocation.getArgument(0));
+        });
+
+        UserLookupException exception = assertThrows(UserLookupException.class,
+                () -> userBatchLoader.load(randomIds(10_000)));
+
+        assertThat(exception).hasMessage("Failed to load users: 5 of 50 chunks failed");
+        assertThat(exception.getCause()).isInstanceOf(IllegalStateException.class);
+        assertThat(exception.getSuppressed()).hasSize(4);
+    }
+
+    private static List<UUID> randomIds(int count) {
+        List<UUID> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        return ids;
+    }
+
+    private static List<UserResponse> usersFor(List<UUID> ids) {
+        return ids.stream()
+                .map(id -> new UserResponse(id, "name", "surname", null, id + "@example.com"))
+                .toList();
+    }
+}
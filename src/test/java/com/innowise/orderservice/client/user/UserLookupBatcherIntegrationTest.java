@@ -0,0 +1,145 @@
+package com.innowise.orderservice.client.user;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.verification.LoggedRequest;
+import com.innowise.orderservice.configuration.ExecutorConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.cloud.openfeign.FeignAutoConfiguration;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserLookupBatcherIntegrationTest {
+
+    private static final int LOOKUPS = 50;
+    private static final String BATCH_URL = "/api/v1/users/batch";
+    private static final String SINGLE_USER_URL = "/api/v1/users/[0-9a-f-]{36}";
+    private static final int MAX_REQUEST_LINE_BYTES = 8 * 1024;
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withConfiguration(AutoConfigurations.of(
+                    JacksonAutoConfiguration.class,
+                    HttpMessageConvertersAutoConfiguration.class,
+                    FeignAutoConfiguration.class
+            ))
+            .withUserConfiguration(UserClientConfiguration.class)
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+            .withPropertyValues(
+                    "user.batching.window=200ms",
+                    "user.batching.max-batch-size=100"
+            );
+
+    private final ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor();
+
+    private WireMockServer wireMockServer;
+
+    @BeforeEach
+    void setUp() {
+        wireMockServer = new WireMockServer(options().dynamicPort());
+        wireMockServer.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        wireMockServer.stop();
+    }
+
+    @Test
+    void givenConcurrentLookupsWithinWindow_whenGetUserById_thenSendSingleHttpRequest() throws Exception {
+        List<UserResponse> users = users(LOOKUPS);
+        wireMockServer.stubFor(get(urlPathEqualTo(BATCH_URL))
+                .willReturn(okJson(new ObjectMapper().writeValueAsString(users))));
+
+        contextRunner.withPropertyValues("user.service.url=" + wireMockServer.baseUrl()).run(context -> {
+            UserFeignClient userClient = context.getBean(CachingUserFeignClient.class);
+            CountDownLatch start = new CountDownLatch(1);
+
+            List<CompletableFuture<UserResponse>> lookups = new ArrayList<>(LOOKUPS);
+            for (UserResponse user : users) {
+                lookups.add(CompletableFuture.supplyAsync(() -> {
+                    await(start);
+                    return userClient.getUserById(user.getId());
+                }, callers));
+            }
+            start.countDown();
+
+            for (int i = 0; i < LOOKUPS; i++) {
+                assertThat(lookups.get(i).get(5, TimeUnit.SECONDS).getId()).isEqualTo(users.get(i).getId());
+            }
+            wireMockServer.verify(1, getRequestedFor(urlPathEqualTo(BATCH_URL)));
+            wireMockServer.verify(0, getRequestedFor(urlPathMatching(SINGLE_USER_URL)));
+        });
+    }
+
+    @Test
+    void givenMoreIdsThanOneChunk_whenLoad_thenKeepEveryRequestLineUnderServerLimit() throws Exception {
+        List<UserResponse> users = users(250);
+        wireMockServer.stubFor(get(urlPathEqualTo(BATCH_URL))
+                .willReturn(okJson(new ObjectMapper().writeValueAsString(users))));
+
+        contextRunner.withPropertyValues("user.service.url=" + wireMockServer.baseUrl()).run(context -> {
+            context.getBean(UserBatchLoader.class).load(users.stream().map(UserResponse::getId).toList());
+
+            List<LoggedRequest> requests = wireMockServer.findAll(getRequestedFor(urlPathEqualTo(BATCH_URL)));
+            assertThat(requests).hasSize(3);
+            assertThat(requests).extracting(request -> request.queryParameter("ids").values().size())
+                    .containsExactlyInAnyOrder(100, 100, 50);
+            assertThat(requests).allSatisfy(request ->
+                    assertThat(("GET " + request.getUrl() + " HTTP/1.1").length())
+                            .isLessThan(MAX_REQUEST_LINE_BYTES));
+        });
+    }
+
+    private static List<UserResponse> users(int count) {
+        List<UserResponse> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            UUID id = UUID.randomUUID();
+            users.add(new UserResponse(id, "name", "surname", null, id + "@example.com"));
+        }
+        return users;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @EnableFeignClients(clients = UserFeignClient.class)
+    @Import({ExecutorConfig.class, UserBatchLoader.class, UserLookupBatcher.class, CachingUserFeignClient.class})
+    static class UserClientConfiguration {
+    }
+}
@@ -0,0 +1,108 @@
+package com.innowise.orderservice.client.user;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import static com.innowise.orderservice.constants.TestConstants.USER_ID;
+import static com.innowise.orderservice.constants.TestConstants.USER_ID_2;
+import static com.innowise.orderservice.constants.TestConstants.USER_RESPONSE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserLookupBatcherTest {
+
+    @Mock
+    private UserFeignClient delegate;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ThreadPoolTaskScheduler taskScheduler = new ThreadPoolTaskScheduler();
+
+    @AfterEach
+    void tearDown() {
+        taskScheduler.shutdown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void givenMoreLookupsThanMaxBatchSize_whenSubmit_thenSplitIntoFullBatches() throws Exception {
+        UserLookupBatcher batcher = batcher(Duration.ofMillis(200), 4);
+        when(delegate.getUsersByIds(anyList())).thenAnswer(invocation -> usersFor(invocation.getArgument(0)));
+
+        List<CompletableFuture<UserResponse>> lookups = randomIds(10).stream()
+                .map(batcher::submit)
+                .toList();
+
+        CompletableFuture.allOf(lookups.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+        verify(delegate, times(3)).getUsersByIds(anyList());
+    }
+
+    @Test
+    void givenDuplicateLookups_whenSubmit_thenRequestIdOnceAndCompleteAllCallers() throws Exception {
+        UserLookupBatcher batcher = batcher(Duration.ofMillis(50), 100);
+        when(delegate.getUsersByIds(List.of(USER_ID, USER_ID_2))).thenReturn(List.of(USER_RESPONSE));
+
+        CompletableFuture<UserResponse> first = batcher.submit(USER_ID);
+        CompletableFuture<UserResponse> second = batcher.submit(USER_ID);
+        CompletableFuture<UserResponse> missing = batcher.submit(USER_ID_2);
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(USER_RESPONSE);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(USER_RESPONSE);
+        assertThat(missing.get(5, TimeUnit.SECONDS)).isNull();
+    }
+
+    @Test
+    void givenFailingBatchRequest_whenSubmit_thenFailEveryCaller() {
+        UserLookupBatcher batcher = batcher(Duration.ofMillis(50), 100);
+        when(delegate.getUsersByIds(anyList())).thenThrow(new IllegalStateException("user-service is down"));
+
+        CompletableFuture<UserResponse> first = batcher.submit(USER_ID);
+        CompletableFuture<UserResponse> second = batcher.submit(USER_ID_2);
+
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> second.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    private UserLookupBatcher batcher(Duration window, int maxBatchSize) {
+        taskScheduler.initialize();
+        return new UserLookupBatcher(
+                new UserBatchLoader(delegate, executor, 200),
+                executor,
+                taskScheduler,
+                window,
+                maxBatchSize,
+                new SimpleMeterRegistry()
+        );
+    }
+
+    private static List<UUID> randomIds(int count) {
+        List<UUID> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        return ids;
+    }
+
+    private static List<UserResponse> usersFor(List<UUID> ids) {
+        return ids.stream()
+                .map(id -> new UserResponse(id, "name", "surname", null, id + "@example.com"))
+                .toList();
+    }
+}
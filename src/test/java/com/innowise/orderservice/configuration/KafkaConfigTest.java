@@ -0,0 +1,83 @@
+package com.innowise.orderservice.configuration;
+
+import com.innowise.orderservice.kafka.consumer.PaymentCreatedEvent;
+import com.innowise.orderservice.kafka.consumer.PaymentStatus;
+import com.innowise.orderservice.kafka.serialization.EventSerializer;
+import com.innowise.orderservice.kafka.serialization.WireFormat;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.Serializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.retrytopic.RetryTopicBeanNames;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KafkaConfigTest {
+
+    private static final String TOPIC = "CREATE_PAYMENT-dlt";
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withConfiguration(AutoConfigurations.of(KafkaAutoConfiguration.class))
+            .withUserConfiguration(KafkaConfig.class);
+
+    private Serializer<Object> serializer;
+
+    @BeforeEach
+    void setUp() {
+        serializer = KafkaConfig.deadLetterValueSerializer();
+        serializer.configure(Map.of(
+                EventSerializer.FORMAT_CONFIG, "json",
+                JsonSerializer.ADD_TYPE_INFO_HEADERS, false
+        ), false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        serializer.close();
+    }
+
+    @Test
+    void givenKafkaAutoConfiguration_whenStartContext_thenKeepBootTemplateAsDefault() {
+        contextRunner.run(context -> {
+            assertThat(context.getBean(KafkaTemplate.class)).isSameAs(context.getBean("kafkaTemplate"));
+            assertThat(context).hasBean(RetryTopicBeanNames.DEFAULT_KAFKA_TEMPLATE_BEAN_NAME);
+            assertThat(context).hasBean(KafkaConfig.PAYMENT_DEAD_LETTER_RECOVERER);
+            assertThat(context).hasBean(KafkaConfig.PAYMENT_LISTENER_CONTAINER_FACTORY);
+            assertThat(context).hasBean("kafkaListenerContainerFactory");
+        });
+    }
+
+    @Test
+    void givenRawPayload_whenSerializeForDeadLetter_thenWriteBytesUnchanged() {
+        byte[] payload = "{not json".getBytes(StandardCharsets.UTF_8);
+        RecordHeaders headers = new RecordHeaders();
+
+        byte[] serialized = serializer.serialize(TOPIC, headers, payload);
+
+        assertThat(serialized).isSameAs(payload);
+        assertThat(headers.lastHeader(WireFormat.HEADER)).isNull();
+    }
+
+    @Test
+    void givenEvent_whenSerializeForDeadLetter_thenWriteItAsEvent() {
+        PaymentCreatedEvent event = new PaymentCreatedEvent(UUID.randomUUID(), PaymentStatus.SUCCESS);
+        RecordHeaders headers = new RecordHeaders();
+
+        byte[] serialized = serializer.serialize(TOPIC, headers, event);
+
+        assertThat(new String(serialized, StandardCharsets.UTF_8)).contains(event.getOrderId().toString());
+        assertThat(headers.lastHeader(WireFormat.HEADER)).isNotNull();
+    }
+}
@@ -0,0 +1,94 @@
+package com.innowise.orderservice.configuration;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.ok;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RestTemplateConfigTest {
+
+    private static final int REQUESTS = 50;
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withUserConfiguration(RestTemplateConfig.class)
+            .withBean(RestTemplateBuilder.class, RestTemplateBuilder::new)
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+            .withPropertyValues(
+                    "http-client.max-connections=10",
+                    "http-client.max-connections-per-route=5",
+                    "http-client.read-timeout=5s"
+            );
+
+    private WireMockServer wireMockServer;
+
+    @BeforeEach
+    void setUp() {
+        wireMockServer = new WireMockServer(options().dynamicPort());
+        wireMockServer.start();
+        wireMockServer.stubFor(get(urlEqualTo("/ping")).willReturn(ok("pong")));
+        wireMockServer.stubFor(get(urlEqualTo("/slow")).willReturn(ok("pong").withFixedDelay(1000)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        wireMockServer.stop();
+    }
+
+    @Test
+    void givenSequentialRequests_whenExchange_thenReuseSingleConnection() {
+        contextRunner.run(context -> {
+            RestTemplate restTemplate = context.getBean(RestTemplate.class);
+            PoolingHttpClientConnectionManager connectionManager =
+                    context.getBean(PoolingHttpClientConnectionManager.class);
+
+            for (int i = 0; i < REQUESTS; i++) {
+                assertThat(restTemplate.getForObject(wireMockServer.baseUrl() + "/ping", String.class))
+                        .isEqualTo("pong");
+            }
+
+            PoolStats stats = connectionManager.getTotalStats();
+            assertThat(stats.getLeased()).isZero();
+            assertThat(stats.getAvailable()).isEqualTo(1);
+            assertThat(stats.getMax()).isEqualTo(10);
+        });
+    }
+
+    @Test
+    void givenSlowUpstream_whenExchange_thenFailWithReadTimeout() {
+        contextRunner.withPropertyValues("http-client.read-timeout=200ms").run(context -> {
+            RestTemplate restTemplate = context.getBean(RestTemplate.class);
+
+            assertThrows(ResourceAccessException.class,
+                    () -> restTemplate.getForObject(wireMockServer.baseUrl() + "/slow", String.class));
+        });
+    }
+
+    @Test
+    void givenConnectionPool_whenContextStarts_thenExposePoolGauges() {
+        contextRunner.run(context -> {
+            MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+
+            assertThat(meterRegistry.find("httpcomponents.httpclient.pool.total.max").gauge())
+                    .isNotNull()
+                    .satisfies(gauge -> assertThat(gauge.value()).isEqualTo(10));
+        });
+    }
+}
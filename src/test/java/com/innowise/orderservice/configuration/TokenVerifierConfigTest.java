@@ -0,0 +1,61 @@
+package com.innowise.orderservice.configuration;
+
+import com.innowise.orderservice.security.JwtTokenVerifier;
+import com.innowise.orderservice.security.TokenVerifier;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
+import org.springframework.web.client.RestTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenVerifierConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withUserConfiguration(TokenVerifierConfig.class)
+            .withBean(RestTemplate.class, RestTemplate::new)
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+            .withBean(TaskScheduler.class, SimpleAsyncTaskScheduler::new)
+            .withPropertyValues(
+                    "authservice.api.url=http://localhost:4001/api/v1/auth/validate",
+                    "authservice.verification-mode=local"
+            );
+
+    @Test
+    void givenLocalModeWithIssuerAndKeySet_whenStartContext_thenUseLocalVerifier() {
+        contextRunner
+                .withPropertyValues(
+                        "authservice.jwt.issuer=auth-service",
+                        "authservice.jwt.jwk-set-uri=classpath:missing-jwks.json"
+                )
+                .run(context -> assertThat(context).getBean(TokenVerifier.class).isInstanceOf(JwtTokenVerifier.class));
+    }
+
+    @Test
+    void givenLocalModeWithBlankIssuer_whenStartContext_thenFailAtStartup() {
+        contextRunner
+                .withPropertyValues(
+                        "authservice.jwt.issuer=",
+                        "authservice.jwt.jwk-set-uri=classpath:missing-jwks.json"
+                )
+                .run(context -> assertThat(context).hasFailed().getFailure()
+                        .rootCause().hasMessageContaining("authservice.jwt.issuer must be set"));
+    }
+
+    @Test
+    void givenLocalModeWithBlankKeySetLocation_whenStartContext_thenFailAtStartup() {
+        contextRunner
+                .withPropertyValues(
+                        "authservice.jwt.issuer=auth-service",
+                        "authservice.jwt.jwk-set-uri="
+                )
+                .run(context -> assertThat(context).hasFailed().getFailure()
+                        .rootCause().hasMessageContaining("authservice.jwt.jwk-set-uri must be set"));
+    }
+}
@@ -30,7 +30,7 @@ public final class TestConstants {
     public static final UUID ORDER_ITEM_ID = UUID.fromString("22222222-2222-2222-2222-222222222222");
     public static final Integer QUANTITY = 5;
 
-    public static final OrderItem ORDER_ITEM = new OrderItem(ORDER_ITEM_ID, ORDER_ID, ITEM_ID, QUANTITY);
+    public static final OrderItem ORDER_ITEM = new OrderItem(ORDER_ITEM_ID, ORDER_ID, ITEM_ID, QUANTITY, ITEM_PRICE);
     public static final OrderItemRequest ORDER_ITEM_REQUEST = new OrderItemRequest(ORDER_ID, ITEM_ID, QUANTITY);
     public static final OrderItemResponse ORDER_ITEM_RESPONSE = OrderItemResponse.builder()
             .orderId(ORDER_ID)
@@ -41,7 +41,8 @@ public final class TestConstants {
             ORDER_ITEM_ID,
             ORDER_ID,
             ITEM_ID,
-            QUANTITY
+            QUANTITY,
+            ITEM_PRICE
     );
 
     public static final UUID USER_ID = UUID.fromString("33333333-3333-3333-3333-333333333333");
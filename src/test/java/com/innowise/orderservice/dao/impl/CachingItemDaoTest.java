@@ -0,0 +1,149 @@
+package com.innowise.orderservice.dao.impl;
+
+import com.innowise.orderservice.dao.ItemDao;
+import com.innowise.orderservice.model.Item;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static com.innowise.orderservice.constants.TestConstants.ITEM;
+import static com.innowise.orderservice.constants.TestConstants.ITEM_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachingItemDaoTest {
+
+    @Mock
+    private ItemDao delegate;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private CachingItemDao cachingItemDao;
+
+    @BeforeEach
+    void setUp() {
+        cachingItemDao = new CachingItemDao(delegate, jdbcTemplate, 100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void givenCachedItem_whenFindByIdTwice_thenLoadOnce() {
+        when(delegate.findById(ITEM_ID)).thenReturn(Optional.of(ITEM));
+
+        assertThat(cachingItemDao.findById(ITEM_ID)).contains(ITEM);
+        assertThat(cachingItemDao.findById(ITEM_ID)).contains(ITEM);
+
+        verify(delegate, times(1)).findById(ITEM_ID);
+    }
+
+    @Test
+    void givenMissingItem_whenFindByIdTwice_thenDoNotCacheAbsence() {
+        when(delegate.findById(ITEM_ID)).thenReturn(Optional.empty());
+
+        assertThat(cachingItemDao.findById(ITEM_ID)).isEmpty();
+        assertThat(cachingItemDao.findById(ITEM_ID)).isEmpty();
+
+        verify(delegate, times(2)).findById(ITEM_ID);
+    }
+
+    @Test
+    void givenPartiallyCachedIds_whenFindByIds_thenLoadOnlyMissingIds() {
+        Item other = new Item(UUID.randomUUID(), "Other", BigDecimal.TEN);
+        when(delegate.findById(ITEM_ID)).thenReturn(Optional.of(ITEM));
+        when(delegate.findByIds(Set.of(other.getId()))).thenReturn(List.of(other));
+        cachingItemDao.findById(ITEM_ID);
+
+        List<Item> items = cachingItemDao.findByIds(Set.of(ITEM_ID, other.getId()));
+
+        assertThat(items).containsExactlyInAnyOrder(ITEM, other);
+        verify(delegate).findByIds(Set.of(other.getId()));
+    }
+
+    @Test
+    void givenCachedItem_whenUpdateCommits_thenNotifyAndReloadAfterCommit() {
+        Item updated = new Item(ITEM_ID, ITEM.getName(), BigDecimal.ONE);
+        when(delegate.findById(ITEM_ID)).thenReturn(Optional.of(ITEM), Optional.of(updated));
+        when(delegate.updateById(ITEM_ID, updated)).thenReturn(updated);
+        cachingItemDao.findById(ITEM_ID);
+        TransactionSynchronizationManager.initSynchronization();
+
+        cachingItemDao.updateById(ITEM_ID, updated);
+
+        assertThat(cachingItemDao.findById(ITEM_ID)).contains(ITEM);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(cachingItemDao.findById(ITEM_ID)).contains(updated);
+        verify(jdbcTemplate).queryForList("select pg_notify(?, ?)", CachingItemDao.INVALIDATION_CHANNEL, ITEM_ID.toString());
+    }
+
+    @Test
+    void givenCachedItem_whenNotifiedByAnotherInstance_thenReload() {
+        when(delegate.findById(ITEM_ID)).thenReturn(Optional.of(ITEM));
+        cachingItemDao.findById(ITEM_ID);
+
+        cachingItemDao.invalidate(ITEM_ID.toString());
+        cachingItemDao.findById(ITEM_ID);
+
+        verify(delegate, times(2)).findById(ITEM_ID);
+    }
+
+    @Test
+    void givenUpdateCommittedDuringLoad_whenFindById_thenDoNotCacheLoadedRow() {
+        Item updated = new Item(ITEM_ID, ITEM.getName(), BigDecimal.ONE);
+        when(delegate.findById(ITEM_ID))
+                .thenAnswer(invocation -> {
+                    cachingItemDao.invalidate(ITEM_ID.toString());
+                    return Optional.of(ITEM);
+                })
+                .thenReturn(Optional.of(updated));
+
+        assertThat(cachingItemDao.findById(ITEM_ID)).contains(ITEM);
+        assertThat(cachingItemDao.findById(ITEM_ID)).contains(updated);
+        assertThat(cachingItemDao.findById(ITEM_ID)).contains(updated);
+
+        verify(delegate, times(2)).findById(ITEM_ID);
+    }
+
+    @Test
+    void givenUpdateCommittedDuringBulkLoad_whenFindByIds_thenDoNotCacheLoadedRows() {
+        Item updated = new Item(ITEM_ID, ITEM.getName(), BigDecimal.ONE);
+        when(delegate.updateById(ITEM_ID, updated)).thenReturn(updated);
+        TransactionSynchronizationManager.initSynchronization();
+        cachingItemDao.updateById(ITEM_ID, updated);
+        when(delegate.findByIds(Set.of(ITEM_ID)))
+                .thenAnswer(invocation -> {
+                    TransactionSynchronizationManager.getSynchronizations()
+                            .forEach(TransactionSynchronization::afterCommit);
+                    return List.of(ITEM);
+                })
+                .thenReturn(List.of(updated));
+
+        assertThat(cachingItemDao.findByIds(Set.of(ITEM_ID))).containsExactly(ITEM);
+        assertThat(cachingItemDao.findByIds(Set.of(ITEM_ID))).containsExactly(updated);
+        assertThat(cachingItemDao.findByIds(Set.of(ITEM_ID))).containsExactly(updated);
+
+        verify(delegate, times(2)).findByIds(Set.of(ITEM_ID));
+    }
+}
@@ -0,0 +1,68 @@
+package com.innowise.orderservice.dao.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderItemDaoImplTest {
+
+    private static final short POSITIVE = 0x0000;
+    private static final short NEGATIVE = 0x4000;
+
+    @Test
+    void givenPrices_whenWriteNumeric_thenEncodeBaseTenThousandDigitsWithWeightAndScale() throws IOException {
+        assertThat(numeric("0.05")).isEqualTo(expected(-1, POSITIVE, 2, 500));
+        assertThat(numeric("12.50")).isEqualTo(expected(0, POSITIVE, 2, 12, 5000));
+        assertThat(numeric("10000.00")).isEqualTo(expected(1, POSITIVE, 2, 1));
+        assertThat(numeric("99999999.99")).isEqualTo(expected(1, POSITIVE, 2, 9999, 9999, 9900));
+        assertThat(numeric("1234.56")).isEqualTo(expected(0, POSITIVE, 2, 1234, 5600));
+        assertThat(numeric("-7.25")).isEqualTo(expected(0, NEGATIVE, 2, 7, 2500));
+    }
+
+    @Test
+    void givenZero_whenWriteNumeric_thenEncodeNoDigits() throws IOException {
+        assertThat(numeric("0")).isEqualTo(expected(0, POSITIVE, 0));
+        assertThat(numeric("0.00")).isEqualTo(expected(0, POSITIVE, 2));
+    }
+
+    @Test
+    void givenNoPrice_whenWriteNumeric_thenWriteNullField() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            OrderItemDaoImpl.writeNumeric(out, null);
+        }
+
+        assertThat(bytes.toByteArray()).containsExactly(-1, -1, -1, -1);
+    }
+
+    private static byte[] numeric(String value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            OrderItemDaoImpl.writeNumeric(out, new BigDecimal(value));
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * The numeric field as PostgreSQL sends it: byte length, then ndigits, weight, sign and dscale, then
+     * the base-10000 digits.
+     */
+    private static byte[] expected(int weight, short sign, int displayScale, int... digits) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(4 * Short.BYTES + digits.length * Short.BYTES);
+            out.writeShort(digits.length);
+            out.writeShort(weight);
+            out.writeShort(sign);
+            out.writeShort(displayScale);
+            for (int digit : digits) {
+                out.writeShort(digit);
+            }
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,191 @@
+package com.innowise.orderservice.kafka.consumer;
+
+import com.innowise.orderservice.constants.TestConstants;
+import com.innowise.orderservice.dao.OrderDao;
+import com.innowise.orderservice.model.Order;
+import com.innowise.orderservice.model.enums.Status;
+import com.innowise.orderservice.service.OrderService;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.ListOffsetsResult.ListOffsetsResultInfo;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.testcontainers.containers.KafkaContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@Testcontainers
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "user.service.url=mock",
+                "kafka.topics.create-payment=CREATE_PAYMENT",
+                "kafka.topics.create-order=CREATE_ORDER"
+        }
+)
+class PaymentCreatedEventConsumerIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17-alpine");
+
+    @Container
+    static KafkaContainer kafka = new KafkaContainer(DockerImageName.parse("confluentinc/cp-kafka:7.0.1"));
+
+    private static final String PAYMENT_TOPIC = "CREATE_PAYMENT";
+    private static final String GROUP_ID = "test-payment-batch-group";
+    private static final int ORDERS = 500;
+    private static final int EVENTS_PER_ORDER = 10;
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+
+        registry.add("spring.kafka.bootstrap-servers", kafka::getBootstrapServers);
+        registry.add("spring.kafka.consumer.group-id", () -> GROUP_ID);
+        registry.add("spring.kafka.consumer.auto-offset-reset", () -> "earliest");
+    }
+
+    @Autowired
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Autowired
+    private OrderDao orderDao;
+
+    @Autowired
+    private KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoSpyBean
+    private OrderService orderService;
+
+    @Test
+    void givenBurstOfPaymentEvents_whenConsumedInBatches_thenEveryOrderEndsInItsLastStatus()
+            throws InterruptedException {
+        List<UUID> orderIds = new ArrayList<>(ORDERS);
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = new Order();
+            order.setUserId(TestConstants.USER_ID);
+            order.setStatus(Status.NEW);
+            orderIds.add(orderDao.create(order).getId());
+        }
+
+        Instant start = Instant.now();
+        for (int round = 0; round < EVENTS_PER_ORDER; round++) {
+            for (int i = 0; i < ORDERS; i++) {
+                PaymentStatus paymentStatus = i % 2 == 0 ? PaymentStatus.SUCCESS : PaymentStatus.FAILED;
+                kafkaTemplate.send(PAYMENT_TOPIC, orderIds.get(i).toString(),
+                        new PaymentCreatedEvent(orderIds.get(i), paymentStatus));
+            }
+        }
+        kafkaTemplate.flush();
+
+        assertThat(awaitSettled(new HashSet<>(orderIds), Duration.ofSeconds(60))).isTrue();
+        assertThat(Duration.between(start, Instant.now())).isLessThan(Duration.ofSeconds(60));
+
+        List<Order> orders = orderDao.findByIds(new HashSet<>(orderIds));
+        for (Order order : orders) {
+            Status expected = orderIds.indexOf(order.getId()) % 2 == 0 ? Status.PAID : Status.CANCELLED;
+            assertThat(order.getStatus()).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void givenTopicReplayedFromStart_whenConsumedAgain_thenDropEveryRecordBeforeOrderService() throws Exception {
+        Set<UUID> orderIds = new HashSet<>();
+        for (int i = 0; i < 20; i++) {
+            Order order = new Order();
+            order.setUserId(TestConstants.USER_ID);
+            order.setStatus(Status.NEW);
+            UUID orderId = orderDao.create(order).getId();
+            orderIds.add(orderId);
+            kafkaTemplate.send(PAYMENT_TOPIC, orderId.toString(),
+                    new PaymentCreatedEvent(orderId, PaymentStatus.SUCCESS));
+        }
+        kafkaTemplate.flush();
+        assertThat(awaitSettled(orderIds, Duration.ofSeconds(30))).isTrue();
+
+        clearInvocations(orderService);
+        double duplicatesBefore = duplicates();
+        long replayed = replayFromStart();
+
+        Instant deadline = Instant.now().plus(Duration.ofSeconds(30));
+        while (duplicates() < duplicatesBefore + replayed && Instant.now().isBefore(deadline)) {
+            Thread.sleep(100);
+        }
+
+        assertThat(duplicates() - duplicatesBefore).isEqualTo(replayed);
+        verify(orderService, never()).updateStatuses(any());
+    }
+
+    private long replayFromStart() throws ExecutionException, InterruptedException {
+        kafkaListenerEndpointRegistry.getListenerContainers().forEach(MessageListenerContainer::stop);
+
+        Map<String, Object> adminConfig = Map.of(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, kafka.getBootstrapServers());
+        try (Admin admin = Admin.create(adminConfig)) {
+            Map<TopicPartition, OffsetSpec> latest = admin.describeTopics(List.of(PAYMENT_TOPIC)).allTopicNames().get()
+                    .get(PAYMENT_TOPIC).partitions().stream()
+                    .collect(Collectors.toMap(
+                            partition -> new TopicPartition(PAYMENT_TOPIC, partition.partition()),
+                            partition -> OffsetSpec.latest()
+                    ));
+            Map<TopicPartition, ListOffsetsResultInfo> endOffsets = admin.listOffsets(latest).all().get();
+
+            Map<TopicPartition, OffsetAndMetadata> rewound = endOffsets.keySet().stream()
+                    .collect(Collectors.toMap(partition -> partition, partition -> new OffsetAndMetadata(0)));
+            admin.alterConsumerGroupOffsets(GROUP_ID, rewound).all().get();
+
+            kafkaListenerEndpointRegistry.getListenerContainers().forEach(MessageListenerContainer::start);
+            return endOffsets.values().stream().mapToLong(ListOffsetsResultInfo::offset).sum();
+        }
+    }
+
+    private double duplicates() {
+        return meterRegistry.counter("kafka.consumer.records", "outcome", "duplicate").count();
+    }
+
+    private boolean awaitSettled(Set<UUID> orderIds, Duration timeout) throws InterruptedException {
+        Instant deadline = Instant.now().plus(timeout);
+        while (Instant.now().isBefore(deadline)) {
+            boolean settled = orderDao.findByIds(orderIds).stream()
+                    .noneMatch(order -> order.getStatus() == Status.NEW);
+            if (settled) {
+                return true;
+            }
+            Thread.sleep(100);
+        }
+        return false;
+    }
+}
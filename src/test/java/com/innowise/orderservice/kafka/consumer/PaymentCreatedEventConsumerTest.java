@@ -0,0 +1,380 @@
+package com.innowise.orderservice.kafka.consumer;
+
+import com.innowise.orderservice.dao.ProcessedOffsetDao;
+import com.innowise.orderservice.kafka.producer.PaymentRetryProducer;
+import com.innowise.orderservice.model.enums.StatusTransition;
+import com.innowise.orderservice.service.OrderService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import com.innowise.orderservice.configuration.KafkaConfig;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentCreatedEventConsumerTest {
+
+    private static final String TOPIC = "CREATE_PAYMENT";
+    private static final String RECORD_IN_RETRY = "Record in retry and not yet recovered";
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private ProcessedOffsetDao processedOffsetDao;
+
+    @Mock
+    private PaymentRetryProducer paymentRetryProducer;
+
+    @Mock
+    private DeadLetterPublishingRecoverer deadLetterRecoverer;
+
+    @Mock
+    private Consumer<String, PaymentCreatedEvent> kafkaConsumer;
+
+    @Mock
+    private MessageListenerContainer container;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private PaymentCreatedEventConsumer paymentCreatedEventConsumer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        paymentCreatedEventConsumer = consumer(Runnable::run, 1);
+    }
+
+    @Test
+    void givenSeveralEventsPerOrder_whenConsumeBatch_thenApplyLastStatusOfEachOrderOnce() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        Map<UUID, PaymentStatus> lastStatuses = Map.of(first, PaymentStatus.SUCCESS, second, PaymentStatus.FAILED);
+        when(orderService.updateStatuses(lastStatuses)).thenReturn(
+                Map.of(first, StatusTransition.APPLIED, second, StatusTransition.ILLEGAL));
+
+        paymentCreatedEventConsumer.consume(List.of(
+                record(0, new PaymentCreatedEvent(first, PaymentStatus.FAILED)),
+                record(1, new PaymentCreatedEvent(second, PaymentStatus.SUCCESS)),
+                record(2, new PaymentCreatedEvent(first, PaymentStatus.SUCCESS)),
+                record(3, new PaymentCreatedEvent(second, PaymentStatus.FAILED))
+        ));
+
+        verify(orderService).updateStatuses(lastStatuses);
+        verify(processedOffsetDao).saveLastOffsets(TOPIC, Map.of(0, 3L));
+        assertThat(meterRegistry.counter("order.status.transitions", "outcome", "APPLIED").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("order.status.transitions", "outcome", "ILLEGAL").count()).isEqualTo(1);
+    }
+
+    @Test
+    void givenRedeliveredBatch_whenConsume_thenDoNotTouchOrders() {
+        when(processedOffsetDao.findLastOffsets(TOPIC, Set.of(0))).thenReturn(Map.of(0, 1L));
+
+        paymentCreatedEventConsumer.consume(List.of(
+                record(0, new PaymentCreatedEvent(UUID.randomUUID(), PaymentStatus.SUCCESS)),
+                record(1, new PaymentCreatedEvent(UUID.randomUUID(), PaymentStatus.SUCCESS))
+        ));
+
+        verify(orderService, never()).updateStatuses(any());
+        verify(processedOffsetDao, never()).saveLastOffsets(any(), any());
+        assertThat(meterRegistry.counter("kafka.consumer.records", "outcome", "duplicate").count()).isEqualTo(2);
+    }
+
+    @Test
+    void givenEventsForMissingOrder_whenConsume_thenForwardOnlyLastEventOfThatOrderForRetry() {
+        UUID existing = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        ConsumerRecord<String, PaymentCreatedEvent> lastOfMissing =
+                record(2, new PaymentCreatedEvent(missing, PaymentStatus.SUCCESS));
+        when(orderService.updateStatuses(Map.of(existing, PaymentStatus.SUCCESS, missing, PaymentStatus.SUCCESS)))
+                .thenReturn(Map.of(existing, StatusTransition.APPLIED, missing, StatusTransition.NOT_FOUND));
+
+        paymentCreatedEventConsumer.consume(List.of(
+                record(0, new PaymentCreatedEvent(missing, PaymentStatus.FAILED)),
+                record(1, new PaymentCreatedEvent(existing, PaymentStatus.SUCCESS)),
+                lastOfMissing
+        ));
+
+        verify(paymentRetryProducer).sendAll(List.of(lastOfMissing));
+        verify(processedOffsetDao).saveLastOffsets(TOPIC, Map.of(0, 2L));
+        assertThat(meterRegistry.counter("order.status.transitions", "outcome", "NOT_FOUND").count()).isEqualTo(1);
+    }
+
+    @Test
+    void givenUnreadableRecords_whenConsume_thenDeadLetterThemAndApplyTheRest() {
+        UUID orderId = UUID.randomUUID();
+        ConsumerRecord<String, PaymentCreatedEvent> broken = new ConsumerRecord<>(TOPIC, 0, 0, "broken", null);
+        ConsumerRecord<String, PaymentCreatedEvent> invalid =
+                record(1, new PaymentCreatedEvent(orderId, null));
+        when(orderService.updateStatuses(Map.of(orderId, PaymentStatus.SUCCESS)))
+                .thenReturn(Map.of(orderId, StatusTransition.APPLIED));
+
+        paymentCreatedEventConsumer.consume(List.of(
+                broken,
+                invalid,
+                record(2, new PaymentCreatedEvent(orderId, PaymentStatus.SUCCESS))
+        ));
+
+        verify(deadLetterRecoverer).accept(eq(broken), any(IllegalArgumentException.class));
+        verify(deadLetterRecoverer).accept(eq(invalid), any(IllegalArgumentException.class));
+        verify(orderService).updateStatuses(Map.of(orderId, PaymentStatus.SUCCESS));
+        verify(processedOffsetDao).saveLastOffsets(TOPIC, Map.of(0, 2L));
+        assertThat(meterRegistry.counter("kafka.consumer.records", "outcome", "dead-lettered").count()).isEqualTo(2);
+    }
+
+    @Test
+    void givenDeadLetterSendFails_whenConsume_thenFailBatchAtThatRecord() {
+        UUID orderId = UUID.randomUUID();
+        ConsumerRecord<String, PaymentCreatedEvent> broken = new ConsumerRecord<>(TOPIC, 0, 1, "broken", null);
+        when(orderService.updateStatuses(Map.of(orderId, PaymentStatus.SUCCESS)))
+                .thenReturn(Map.of(orderId, StatusTransition.APPLIED));
+        doThrow(new KafkaException("Dead-letter topic unavailable"))
+                .when(deadLetterRecoverer).accept(eq(broken), any());
+
+        List<ConsumerRecord<String, PaymentCreatedEvent>> records = List.of(
+                record(0, new PaymentCreatedEvent(orderId, PaymentStatus.SUCCESS)),
+                broken,
+                record(2, new PaymentCreatedEvent(orderId, PaymentStatus.SUCCESS))
+        );
+
+        assertThatThrownBy(() -> paymentCreatedEventConsumer.consume(records))
+                .isInstanceOfSatisfying(BatchListenerFailedException.class,
+                        exception -> assertThat(exception.getIndex()).isEqualTo(1));
+
+        verify(processedOffsetDao).saveLastOffsets(TOPIC, Map.of(0, 0L));
+    }
+
+    @Test
+    void givenManyOrders_whenConsumeInParallelLanes_thenApplyEachOrderInOneLaneWithItsLastStatus()
+            throws InterruptedException {
+        int lanes = 4;
+        List<UUID> orderIds = new ArrayList<>();
+        Set<Integer> usedLanes = new HashSet<>();
+        for (int i = 0; i < 40; i++) {
+            UUID orderId = UUID.randomUUID();
+            orderIds.add(orderId);
+            usedLanes.add(PaymentCreatedEventConsumer.laneOf(orderId, lanes));
+        }
+
+        List<ConsumerRecord<String, PaymentCreatedEvent>> records = new ArrayList<>();
+        Map<UUID, PaymentStatus> lastStatuses = new HashMap<>();
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < orderIds.size(); i++) {
+                PaymentStatus paymentStatus = (round + i) % 2 == 0 ? PaymentStatus.SUCCESS : PaymentStatus.FAILED;
+                records.add(record(records.size(), new PaymentCreatedEvent(orderIds.get(i), paymentStatus)));
+                lastStatuses.put(orderIds.get(i), paymentStatus);
+            }
+        }
+
+        CountDownLatch allLanesRunning = new CountDownLatch(usedLanes.size());
+        Queue<Map<UUID, PaymentStatus>> laneCalls = new ConcurrentLinkedQueue<>();
+        when(orderService.updateStatuses(any())).thenAnswer(invocation -> {
+            Map<UUID, PaymentStatus> laneStatuses = invocation.getArgument(0);
+            laneCalls.add(Map.copyOf(laneStatuses));
+            allLanesRunning.countDown();
+            assertThat(allLanesRunning.await(5, TimeUnit.SECONDS)).isTrue();
+
+            Map<UUID, StatusTransition> transitions = new HashMap<>();
+            laneStatuses.keySet().forEach(orderId -> transitions.put(orderId, StatusTransition.APPLIED));
+            return transitions;
+        });
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            consumer(executor, lanes).consume(records);
+        }
+
+        Map<UUID, PaymentStatus> applied = new HashMap<>();
+        for (Map<UUID, PaymentStatus> laneCall : laneCalls) {
+            assertThat(laneCall.keySet())
+                    .extracting(orderId -> PaymentCreatedEventConsumer.laneOf(orderId, lanes))
+                    .containsOnly(PaymentCreatedEventConsumer.laneOf(laneCall.keySet().iterator().next(), lanes));
+            laneCall.forEach((orderId, paymentStatus) ->
+                    assertThat(applied.put(orderId, paymentStatus)).isNull());
+        }
+        assertThat(laneCalls).hasSize(usedLanes.size());
+        assertThat(applied).isEqualTo(lastStatuses);
+        verify(processedOffsetDao).saveLastOffsets(TOPIC, Map.of(0, (long) records.size() - 1));
+    }
+
+    @Test
+    void givenFailingLane_whenConsume_thenFailBatchAtFirstRecordOfThatLane() {
+        UUID healthy = UUID.randomUUID();
+        UUID failing = UUID.randomUUID();
+        while (PaymentCreatedEventConsumer.laneOf(failing, 2) == PaymentCreatedEventConsumer.laneOf(healthy, 2)) {
+            failing = UUID.randomUUID();
+        }
+        UUID failingOrderId = failing;
+        when(orderService.updateStatuses(any())).thenAnswer(invocation -> {
+            Map<UUID, PaymentStatus> laneStatuses = invocation.getArgument(0);
+            if (laneStatuses.containsKey(failingOrderId)) {
+                throw new IllegalStateException("connection lost");
+            }
+            return Map.of(healthy, StatusTransition.APPLIED);
+        });
+
+        List<ConsumerRecord<String, PaymentCreatedEvent>> records = List.of(
+                record(0, new PaymentCreatedEvent(healthy, PaymentStatus.FAILED)),
+                record(1, new PaymentCreatedEvent(failingOrderId, PaymentStatus.SUCCESS)),
+                record(2, new PaymentCreatedEvent(healthy, PaymentStatus.SUCCESS))
+        );
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            PaymentCreatedEventConsumer consumer = consumer(executor, 2);
+
+            assertThatThrownBy(() -> consumer.consume(records))
+                    .isInstanceOfSatisfying(BatchListenerFailedException.class,
+                            exception -> assertThat(exception.getIndex()).isEqualTo(1));
+        }
+
+        verify(processedOffsetDao).saveLastOffsets(TOPIC, Map.of(0, 0L));
+    }
+
+    @Test
+    void givenLaneFailingMoreThanTenTimes_whenRedeliveredByErrorHandler_thenApplyRecordOnceDatabaseRecovers() {
+        UUID orderId = UUID.randomUUID();
+        ConsumerRecord<String, PaymentCreatedEvent> consumerRecord =
+                record(0, new PaymentCreatedEvent(orderId, PaymentStatus.SUCCESS));
+        AtomicInteger attempts = new AtomicInteger();
+        when(orderService.updateStatuses(Map.of(orderId, PaymentStatus.SUCCESS))).thenAnswer(invocation -> {
+            if (attempts.incrementAndGet() <= 12) {
+                throw new CannotGetJdbcConnectionException("Connection is not available");
+            }
+            return Map.of(orderId, StatusTransition.APPLIED);
+        });
+        DefaultErrorHandler errorHandler = errorHandler(15);
+        ConsumerRecords<String, PaymentCreatedEvent> batch = batch(consumerRecord);
+
+        boolean applied = false;
+        while (!applied) {
+            try {
+                paymentCreatedEventConsumer.consume(List.of(consumerRecord));
+                applied = true;
+            } catch (BatchListenerFailedException e) {
+                assertThatThrownBy(() -> errorHandler.handleBatch(e, batch, kafkaConsumer, container, () -> { }))
+                        .hasMessage(RECORD_IN_RETRY);
+            }
+        }
+
+        assertThat(attempts).hasValue(13);
+        verify(deadLetterRecoverer, never()).accept(any(), any(), any());
+        verify(kafkaConsumer, times(12)).seek(new TopicPartition(TOPIC, 0), 0);
+        verify(processedOffsetDao).saveLastOffsets(TOPIC, Map.of(0, 0L));
+    }
+
+    @Test
+    void givenRetriesExhausted_whenRedeliveredByErrorHandler_thenDeadLetterRecordInsteadOfDroppingIt() {
+        UUID orderId = UUID.randomUUID();
+        ConsumerRecord<String, PaymentCreatedEvent> consumerRecord =
+                record(0, new PaymentCreatedEvent(orderId, PaymentStatus.SUCCESS));
+        when(orderService.updateStatuses(Map.of(orderId, PaymentStatus.SUCCESS)))
+                .thenThrow(new CannotGetJdbcConnectionException("Connection is not available"));
+        DefaultErrorHandler errorHandler = errorHandler(11);
+        ConsumerRecords<String, PaymentCreatedEvent> batch = batch(consumerRecord);
+
+        for (int attempt = 0; attempt <= 11; attempt++) {
+            BatchListenerFailedException exception = catchThrowableOfType(BatchListenerFailedException.class,
+                    () -> paymentCreatedEventConsumer.consume(List.of(consumerRecord)));
+            if (attempt < 11) {
+                assertThatThrownBy(() ->
+                        errorHandler.handleBatch(exception, batch, kafkaConsumer, container, () -> { }))
+                        .hasMessage(RECORD_IN_RETRY);
+                verify(deadLetterRecoverer, never()).accept(any(), any(), any());
+            } else {
+                errorHandler.handleBatch(exception, batch, kafkaConsumer, container, () -> { });
+            }
+        }
+
+        verify(orderService, times(12)).updateStatuses(any());
+        verify(deadLetterRecoverer)
+                .accept(eq(consumerRecord), eq(kafkaConsumer), any(BatchListenerFailedException.class));
+    }
+
+    @Test
+    void givenDataError_whenHandledByErrorHandler_thenDeadLetterRecordWithoutRetrying() {
+        UUID orderId = UUID.randomUUID();
+        ConsumerRecord<String, PaymentCreatedEvent> consumerRecord =
+                record(0, new PaymentCreatedEvent(orderId, PaymentStatus.SUCCESS));
+        when(orderService.updateStatuses(Map.of(orderId, PaymentStatus.SUCCESS)))
+                .thenThrow(new DataIntegrityViolationException("orders_status_check"));
+        DefaultErrorHandler errorHandler = errorHandler(15);
+        ConsumerRecords<String, PaymentCreatedEvent> batch = batch(consumerRecord);
+
+        BatchListenerFailedException exception = catchThrowableOfType(BatchListenerFailedException.class,
+                () -> paymentCreatedEventConsumer.consume(List.of(consumerRecord)));
+        errorHandler.handleBatch(exception, batch, kafkaConsumer, container, () -> { });
+
+        verify(orderService, times(1)).updateStatuses(any());
+        verify(deadLetterRecoverer)
+                .accept(eq(consumerRecord), eq(kafkaConsumer), any(BatchListenerFailedException.class));
+    }
+
+    private DefaultErrorHandler errorHandler(int maxRetries) {
+        lenient().when(container.getContainerProperties()).thenReturn(new ContainerProperties(TOPIC));
+        return new KafkaConfig().paymentErrorHandler(
+                deadLetterRecoverer, maxRetries, Duration.ofMillis(1), 2, Duration.ofMillis(1));
+    }
+
+    private static ConsumerRecords<String, PaymentCreatedEvent> batch(
+            ConsumerRecord<String, PaymentCreatedEvent> consumerRecord
+    ) {
+        return new ConsumerRecords<>(Map.of(new TopicPartition(TOPIC, 0), List.of(consumerRecord)));
+    }
+
+    private PaymentCreatedEventConsumer consumer(Executor executor, int lanes) {
+        return new PaymentCreatedEventConsumer(
+                orderService,
+                new ProcessedOffsetTracker(processedOffsetDao, meterRegistry),
+                paymentRetryProducer,
+                deadLetterRecoverer,
+                executor,
+                lanes,
+                1,
+                meterRegistry
+        );
+    }
+
+    private static ConsumerRecord<String, PaymentCreatedEvent> record(long offset, PaymentCreatedEvent event) {
+        return new ConsumerRecord<>(TOPIC, 0, offset, event.getOrderId().toString(), event);
+    }
+}
@@ -0,0 +1,112 @@
+package com.innowise.orderservice.kafka.consumer;
+
+import com.innowise.orderservice.exception.custom.OrderNotFoundException;
+import com.innowise.orderservice.model.enums.StatusTransition;
+import com.innowise.orderservice.service.OrderService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Method;
+import java.sql.SQLTransientConnectionException;
+import java.util.UUID;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.kafka.annotation.RetryableTopic;
+import org.springframework.kafka.annotation.RetryableTopicAnnotationProcessor;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.retrytopic.DestinationTopic;
+import org.springframework.kafka.retrytopic.RetryTopicBeanNames;
+import org.springframework.kafka.retrytopic.RetryTopicConfiguration;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentRetryConsumerTest {
+
+    private static final String RETRY_TOPIC = "PAYMENT_RETRY-retry-0";
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private KafkaTemplate<Object, Object> kafkaTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private PaymentRetryConsumer paymentRetryConsumer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        paymentRetryConsumer = new PaymentRetryConsumer(orderService, meterRegistry);
+    }
+
+    @Test
+    void givenOrderStillMissing_whenConsume_thenThrowRetryableException() {
+        UUID orderId = UUID.randomUUID();
+        when(orderService.updateStatusById(orderId, PaymentStatus.SUCCESS)).thenReturn(StatusTransition.NOT_FOUND);
+
+        assertThatThrownBy(() -> paymentRetryConsumer.consume(record(orderId)))
+                .isInstanceOf(OrderNotFoundException.class);
+        assertThat(meterRegistry.counter("payment.retry.attempts", "topic", RETRY_TOPIC).count()).isEqualTo(1);
+    }
+
+    @Test
+    void givenOrderCreatedMeanwhile_whenConsume_thenApplyStatusAndRecordLag() {
+        UUID orderId = UUID.randomUUID();
+        when(orderService.updateStatusById(orderId, PaymentStatus.SUCCESS)).thenReturn(StatusTransition.APPLIED);
+
+        paymentRetryConsumer.consume(record(orderId));
+
+        assertThat(meterRegistry.counter("order.status.transitions", "outcome", "APPLIED").count()).isEqualTo(1);
+        assertThat(meterRegistry.timer("payment.retry.lag").count()).isEqualTo(1);
+    }
+
+    @Test
+    void givenTransientDatabaseFailure_whenClassifiedByRetryTopics_thenSendToNextRetryTopic() throws Exception {
+        DestinationTopic mainTopic = mainTopic();
+
+        assertThat(mainTopic.shouldRetryOn(1, new QueryTimeoutException("canceling statement"))).isTrue();
+        assertThat(mainTopic.shouldRetryOn(1, new CannotGetJdbcConnectionException("Connection is not available")))
+                .isTrue();
+        assertThat(mainTopic.shouldRetryOn(1, new CannotCreateTransactionException("Could not open JDBC Connection",
+                new SQLTransientConnectionException("Connection is not available")))).isTrue();
+        assertThat(mainTopic.shouldRetryOn(1, new OrderNotFoundException("Order not found"))).isTrue();
+    }
+
+    @Test
+    void givenPermanentFailure_whenClassifiedByRetryTopics_thenSendToDeadLetterTopic() throws Exception {
+        DestinationTopic mainTopic = mainTopic();
+
+        assertThat(mainTopic.shouldRetryOn(1, new DataIntegrityViolationException("orders_status_check"))).isFalse();
+        assertThat(mainTopic.shouldRetryOn(1, new IllegalStateException("unexpected"))).isFalse();
+    }
+
+    private DestinationTopic mainTopic() throws NoSuchMethodException {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.addEmbeddedValueResolver(new StandardEnvironment()::resolvePlaceholders);
+        beanFactory.registerSingleton(RetryTopicBeanNames.DEFAULT_KAFKA_TEMPLATE_BEAN_NAME, kafkaTemplate);
+
+        Method consume = PaymentRetryConsumer.class.getMethod("consume", ConsumerRecord.class);
+        RetryTopicConfiguration configuration = new RetryableTopicAnnotationProcessor(beanFactory).processAnnotation(
+                new String[] {"PAYMENT_RETRY"}, consume, consume.getAnnotation(RetryableTopic.class),
+                paymentRetryConsumer);
+
+        return new DestinationTopic("PAYMENT_RETRY", configuration.getDestinationTopicProperties().getFirst());
+    }
+
+    private static ConsumerRecord<String, PaymentCreatedEvent> record(UUID orderId) {
+        return new ConsumerRecord<>(RETRY_TOPIC, 0, 0, orderId.toString(),
+                new PaymentCreatedEvent(orderId, PaymentStatus.SUCCESS));
+    }
+}
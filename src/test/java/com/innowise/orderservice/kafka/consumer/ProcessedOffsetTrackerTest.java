@@ -0,0 +1,96 @@
+package com.innowise.orderservice.kafka.consumer;
+
+import com.innowise.orderservice.dao.ProcessedOffsetDao;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProcessedOffsetTrackerTest {
+
+    private static final String TOPIC = "CREATE_PAYMENT";
+
+    @Mock
+    private ProcessedOffsetDao processedOffsetDao;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ProcessedOffsetTracker processedOffsetTracker;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        processedOffsetTracker = new ProcessedOffsetTracker(processedOffsetDao, meterRegistry);
+    }
+
+    @Test
+    void givenStoredWatermark_whenDropProcessed_thenKeepOnlyNewerRecordsPerPartition() {
+        when(processedOffsetDao.findLastOffsets(TOPIC, Set.of(0, 1))).thenReturn(Map.of(0, 5L));
+
+        List<ConsumerRecord<String, String>> fresh = processedOffsetTracker.dropProcessed(List.of(
+                record(0, 4), record(0, 5), record(0, 6), record(1, 0)
+        ));
+
+        assertThat(fresh).extracting(ConsumerRecord::partition, ConsumerRecord::offset)
+                .containsExactly(tuple(0, 6L), tuple(1, 0L));
+        assertThat(meterRegistry.counter("kafka.consumer.records", "outcome", "received").count()).isEqualTo(4);
+        assertThat(meterRegistry.counter("kafka.consumer.records", "outcome", "duplicate").count()).isEqualTo(2);
+    }
+
+    @Test
+    void givenPartitionEntirelyBelowWatermark_whenDropProcessed_thenCountItOnce() {
+        when(processedOffsetDao.findLastOffsets(TOPIC, Set.of(0, 1))).thenReturn(Map.of(0, 500L, 1, 5L));
+
+        List<ConsumerRecord<String, String>> fresh = processedOffsetTracker.dropProcessed(List.of(
+                record(0, 0), record(0, 1), record(1, 5), record(1, 6)
+        ));
+
+        assertThat(fresh).extracting(ConsumerRecord::partition, ConsumerRecord::offset)
+                .containsExactly(tuple(1, 6L));
+        assertThat(meterRegistry.counter("kafka.consumer.partitions.below-watermark", "topic", TOPIC).count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void givenMarkedBatch_whenSameRecordsArriveAgain_thenDropThemWithoutReadingTable() {
+        List<ConsumerRecord<String, String>> batch = List.of(record(0, 0), record(0, 1), record(1, 7));
+
+        processedOffsetTracker.dropProcessed(batch);
+        processedOffsetTracker.markProcessed(batch);
+
+        assertThat(processedOffsetTracker.dropProcessed(batch)).isEmpty();
+        verify(processedOffsetDao).saveLastOffsets(TOPIC, Map.of(0, 1L, 1, 7L));
+        verify(processedOffsetDao, times(1)).findLastOffsets(TOPIC, Set.of(0, 1));
+        assertThat(meterRegistry.counter("kafka.consumer.partitions.below-watermark", "topic", TOPIC).count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void givenForgottenPartition_whenDropProcessed_thenReloadWatermarkFromTable() {
+        List<ConsumerRecord<String, String>> batch = List.of(record(0, 3));
+        processedOffsetTracker.markProcessed(batch);
+
+        processedOffsetTracker.forget(List.of(new TopicPartition(TOPIC, 0)));
+        processedOffsetTracker.dropProcessed(batch);
+
+        verify(processedOffsetDao).findLastOffsets(TOPIC, Set.of(0));
+    }
+
+    private static ConsumerRecord<String, String> record(int partition, long offset) {
+        return new ConsumerRecord<>(TOPIC, partition, offset, null, "value");
+    }
+}
@@ -0,0 +1,89 @@
+package com.innowise.orderservice.kafka.producer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.KafkaContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@Testcontainers
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "user.service.url=mock",
+                "kafka.topics.create-payment=CREATE_PAYMENT",
+                "kafka.topics.create-order=CREATE_ORDER"
+        }
+)
+class OrderCreatedEventProducerIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17-alpine");
+
+    @Container
+    static KafkaContainer kafka = new KafkaContainer(DockerImageName.parse("confluentinc/cp-kafka:7.0.1"));
+
+    private static final int EVENTS = 20_000;
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+
+        registry.add("spring.kafka.bootstrap-servers", kafka::getBootstrapServers);
+    }
+
+    @Autowired
+    private OrderCreatedEventProducer orderCreatedEventProducer;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void givenBurstOfEvents_whenSend_thenEveryDeliveryIsAcknowledgedAndRecorded() {
+        orderCreatedEventProducer.send(event()).join();
+        long deliveredBefore = sends("success");
+
+        Instant start = Instant.now();
+        List<CompletableFuture<?>> sends = new ArrayList<>(EVENTS);
+        for (int i = 0; i < EVENTS; i++) {
+            sends.add(orderCreatedEventProducer.send(event()));
+        }
+        orderCreatedEventProducer.flush();
+        CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).orTimeout(60, TimeUnit.SECONDS).join();
+        Duration elapsed = Duration.between(start, Instant.now());
+
+        log.info("Published {} order created events in {} ms ({} events/s)",
+                EVENTS, elapsed.toMillis(), EVENTS * 1000L / Math.max(1, elapsed.toMillis()));
+        assertThat(sends("success") - deliveredBefore).isEqualTo(EVENTS);
+        assertThat(sends("failure")).isZero();
+        assertThat(meterRegistry.get("kafka.producer.in-flight").gauge().value()).isZero();
+    }
+
+    private long sends(String outcome) {
+        return meterRegistry.timer("kafka.producer.sends", "topic", "CREATE_ORDER", "outcome", outcome).count();
+    }
+
+    private static OrderCreatedEvent event() {
+        return new OrderCreatedEvent(UUID.randomUUID(), UUID.randomUUID(), new BigDecimal("10.00"));
+    }
+}
@@ -0,0 +1,83 @@
+package com.innowise.orderservice.kafka.producer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderCreatedEventProducerTest {
+
+    private static final String TOPIC = "CREATE_ORDER";
+
+    @Mock
+    private KafkaTemplate<String, OrderCreatedEvent> kafkaTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private OrderCreatedEventProducer orderCreatedEventProducer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        orderCreatedEventProducer = new OrderCreatedEventProducer(
+                kafkaTemplate, TOPIC, 1, Duration.ofMillis(50), meterRegistry);
+    }
+
+    @Test
+    void givenAllSlotsInFlight_whenSend_thenFailFastUntilEarlierSendIsAcknowledged() {
+        CompletableFuture<SendResult<String, OrderCreatedEvent>> pending = new CompletableFuture<>();
+        when(kafkaTemplate.send(eq(TOPIC), any(), any()))
+                .thenReturn(pending, CompletableFuture.completedFuture(null));
+
+        CompletableFuture<?> first = orderCreatedEventProducer.send(event());
+        CompletableFuture<?> rejected = orderCreatedEventProducer.send(event());
+        pending.complete(null);
+        CompletableFuture<?> third = orderCreatedEventProducer.send(event());
+
+        assertThat(first).isCompleted();
+        assertThat(rejected).isCompletedExceptionally();
+        assertThat(rejected.exceptionNow()).isInstanceOf(KafkaException.class);
+        assertThat(third).isCompleted();
+        verify(kafkaTemplate, times(2)).send(eq(TOPIC), any(), any());
+        assertThat(sends("success")).isEqualTo(2);
+        assertThat(sends("failure")).isEqualTo(1);
+    }
+
+    @Test
+    void givenBrokerFailure_whenSend_thenRecordFailureAndReleaseSlot() {
+        when(kafkaTemplate.send(eq(TOPIC), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new TimeoutException("broker unavailable")));
+
+        CompletableFuture<?> send = orderCreatedEventProducer.send(event());
+
+        assertThat(send).isCompletedExceptionally();
+        assertThat(sends("failure")).isEqualTo(1);
+        assertThat(meterRegistry.get("kafka.producer.in-flight").gauge().value()).isZero();
+    }
+
+    private long sends(String outcome) {
+        return meterRegistry.timer("kafka.producer.sends", "topic", TOPIC, "outcome", outcome).count();
+    }
+
+    private static OrderCreatedEvent event() {
+        return new OrderCreatedEvent(UUID.randomUUID(), UUID.randomUUID(), new BigDecimal("10.00"));
+    }
+}
@@ -0,0 +1,132 @@
+package com.innowise.orderservice.kafka.producer;
+
+import com.innowise.orderservice.dao.OrderOutboxDao;
+import com.innowise.orderservice.model.OrderOutboxEntry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderOutboxRelayTest {
+
+    private static final int BATCH_SIZE = 3;
+
+    @Mock
+    private OrderOutboxDao orderOutboxDao;
+
+    @Mock
+    private OrderCreatedEventProducer orderCreatedEventProducer;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private OrderOutboxRelay orderOutboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        orderOutboxRelay = new OrderOutboxRelay(
+                orderOutboxDao,
+                orderCreatedEventProducer,
+                transactionManager,
+                BATCH_SIZE,
+                Duration.ofSeconds(1),
+                meterRegistry
+        );
+    }
+
+    @Test
+    void givenPendingEntries_whenRelay_thenSendWholeBatchBeforeAwaitingAndDeleteAcknowledged() {
+        List<OrderOutboxEntry> batch = entries(2);
+        List<CompletableFuture<SendResult<String, OrderCreatedEvent>>> sends = new ArrayList<>();
+        when(orderOutboxDao.lockNextBatch(BATCH_SIZE)).thenReturn(batch);
+        when(orderCreatedEventProducer.send(any())).thenAnswer(invocation -> {
+            CompletableFuture<SendResult<String, OrderCreatedEvent>> send = new CompletableFuture<>();
+            sends.add(send);
+            if (sends.size() == batch.size()) {
+                sends.forEach(pending -> pending.complete(null));
+            }
+            return send;
+        });
+
+        orderOutboxRelay.relay();
+
+        verify(orderOutboxDao).deleteByIds(List.of(batch.get(0).getId(), batch.get(1).getId()));
+        verify(orderCreatedEventProducer, never()).flush();
+        assertThat(meterRegistry.counter("order.outbox.relayed").count()).isEqualTo(2);
+    }
+
+    @Test
+    void givenBrokerNotAcknowledging_whenRelay_thenGiveUpAtSendTimeoutAndKeepEntries() {
+        List<OrderOutboxEntry> batch = entries(2);
+        when(orderOutboxDao.lockNextBatch(BATCH_SIZE)).thenReturn(batch);
+        when(orderCreatedEventProducer.send(any())).thenAnswer(invocation -> new CompletableFuture<>());
+
+        long start = System.nanoTime();
+        orderOutboxRelay.relay();
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(3));
+        verify(orderOutboxDao).deleteByIds(List.of());
+        assertThat(meterRegistry.counter("order.outbox.failed").count()).isEqualTo(2);
+    }
+
+    @Test
+    void givenFailedSend_whenRelay_thenKeepFailedEntryAndStopDraining() {
+        List<OrderOutboxEntry> batch = entries(BATCH_SIZE);
+        when(orderOutboxDao.lockNextBatch(BATCH_SIZE)).thenReturn(batch);
+        when(orderCreatedEventProducer.send(any())).thenReturn(
+                CompletableFuture.completedFuture(null),
+                CompletableFuture.failedFuture(new TimeoutException("broker unavailable")),
+                CompletableFuture.completedFuture(null)
+        );
+
+        orderOutboxRelay.relay();
+
+        verify(orderOutboxDao, times(1)).lockNextBatch(BATCH_SIZE);
+        verify(orderOutboxDao).deleteByIds(List.of(batch.get(0).getId(), batch.get(2).getId()));
+        assertThat(meterRegistry.counter("order.outbox.failed").count()).isEqualTo(1);
+    }
+
+    @Test
+    void givenBacklogLargerThanBatch_whenRelay_thenDrainUntilBatchIsNotFull() {
+        List<OrderOutboxEntry> firstBatch = entries(BATCH_SIZE);
+        List<OrderOutboxEntry> secondBatch = entries(1);
+        when(orderOutboxDao.lockNextBatch(BATCH_SIZE)).thenReturn(firstBatch, secondBatch);
+        when(orderCreatedEventProducer.send(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        orderOutboxRelay.relay();
+
+        verify(orderOutboxDao, times(2)).lockNextBatch(BATCH_SIZE);
+        verify(orderCreatedEventProducer, times(BATCH_SIZE + 1)).send(any());
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    private static List<OrderOutboxEntry> entries(int count) {
+        List<OrderOutboxEntry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entries.add(new OrderOutboxEntry(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), BigDecimal.TEN));
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,94 @@
+package com.innowise.orderservice.kafka.serialization;
+
+import com.innowise.orderservice.kafka.consumer.PaymentCreatedEvent;
+import com.innowise.orderservice.kafka.consumer.PaymentStatus;
+import com.innowise.orderservice.kafka.producer.OrderCreatedEvent;
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Slf4j
+class BinaryEventCodecTest {
+
+    private static final int ITERATIONS = 50_000;
+
+    @Test
+    void givenOrderCreatedEvent_whenEncodeAndDecode_thenRoundTripExactly() {
+        OrderCreatedEvent event =
+                new OrderCreatedEvent(UUID.randomUUID(), UUID.randomUUID(), new BigDecimal("1234.50"));
+
+        OrderCreatedEvent decoded = (OrderCreatedEvent) BinaryEventCodec.decode(BinaryEventCodec.encode(event));
+
+        assertThat(decoded.getOrderId()).isEqualTo(event.getOrderId());
+        assertThat(decoded.getUserId()).isEqualTo(event.getUserId());
+        assertThat(decoded.getTotal()).isEqualTo(event.getTotal());
+    }
+
+    @Test
+    void givenPaymentCreatedEvent_whenEncodeAndDecode_thenRoundTripExactly() {
+        PaymentCreatedEvent event = new PaymentCreatedEvent(UUID.randomUUID(), PaymentStatus.FAILED);
+
+        PaymentCreatedEvent decoded = (PaymentCreatedEvent) BinaryEventCodec.decode(BinaryEventCodec.encode(event));
+
+        assertThat(decoded.getOrderId()).isEqualTo(event.getOrderId());
+        assertThat(decoded.getPaymentStatus()).isEqualTo(PaymentStatus.FAILED);
+    }
+
+    @Test
+    void givenUnknownSchemaOrTruncatedPayload_whenDecode_thenThrowSerializationException() {
+        byte[] encoded = BinaryEventCodec.encode(new PaymentCreatedEvent(UUID.randomUUID(), PaymentStatus.SUCCESS));
+        byte[] truncated = new byte[encoded.length - 1];
+        System.arraycopy(encoded, 0, truncated, 0, truncated.length);
+
+        assertThatThrownBy(() -> BinaryEventCodec.decode(new byte[] {99}))
+                .isInstanceOf(SerializationException.class);
+        assertThatThrownBy(() -> BinaryEventCodec.decode(truncated))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    void givenEvents_whenEncoded_thenBinaryIsLessThanHalfOfJsonAndReportCost() {
+        OrderCreatedEvent orderCreated =
+                new OrderCreatedEvent(UUID.randomUUID(), UUID.randomUUID(), new BigDecimal("1234.50"));
+        PaymentCreatedEvent paymentCreated = new PaymentCreatedEvent(UUID.randomUUID(), PaymentStatus.SUCCESS);
+
+        try (JsonSerializer<Object> json = new JsonSerializer<>()) {
+            json.configure(Map.of(JsonSerializer.ADD_TYPE_INFO_HEADERS, false), false);
+
+            for (Object event : new Object[] {orderCreated, paymentCreated}) {
+                int jsonSize = json.serialize("topic", event).length;
+                int binarySize = BinaryEventCodec.encode(event).length;
+                log.info("{}: json {} bytes, {} ns/op; binary {} bytes, {} ns/op",
+                        event.getClass().getSimpleName(),
+                        jsonSize, nanosPerOp(value -> json.serialize("topic", value), event),
+                        binarySize, nanosPerOp(BinaryEventCodec::encode, event));
+
+                assertThat(binarySize * 2).isLessThan(jsonSize);
+            }
+        }
+    }
+
+    private static long nanosPerOp(Function<Object, byte[]> encoder, Object event) {
+        long sink = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += encoder.apply(event).length;
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += encoder.apply(event).length;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        assertThat(sink).isPositive();
+        return elapsed / ITERATIONS;
+    }
+}
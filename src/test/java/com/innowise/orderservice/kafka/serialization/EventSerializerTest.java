@@ -0,0 +1,91 @@
+package com.innowise.orderservice.kafka.serialization;
+
+import com.innowise.orderservice.kafka.consumer.PaymentCreatedEvent;
+import com.innowise.orderservice.kafka.consumer.PaymentStatus;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventSerializerTest {
+
+    private static final String TOPIC = "CREATE_PAYMENT";
+
+    private EventDeserializer eventDeserializer;
+
+    @BeforeEach
+    void setUp() {
+        eventDeserializer = new EventDeserializer();
+        eventDeserializer.configure(Map.of(
+                JsonDeserializer.USE_TYPE_INFO_HEADERS, false,
+                JsonDeserializer.VALUE_DEFAULT_TYPE, PaymentCreatedEvent.class.getName(),
+                JsonDeserializer.TRUSTED_PACKAGES, "com.innowise.orderservice.kafka"
+        ), false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventDeserializer.close();
+    }
+
+    @Test
+    void givenProducersInBothFormats_whenDeserialize_thenReadEachByItsHeader() {
+        PaymentCreatedEvent event = new PaymentCreatedEvent(UUID.randomUUID(), PaymentStatus.SUCCESS);
+
+        for (String format : new String[] {"json", "binary"}) {
+            RecordHeaders headers = new RecordHeaders();
+            byte[] payload;
+            try (EventSerializer eventSerializer = serializer(format)) {
+                payload = eventSerializer.serialize(TOPIC, headers, event);
+            }
+
+            assertThat(new String(headers.lastHeader(WireFormat.HEADER).value(), StandardCharsets.US_ASCII))
+                    .isEqualTo(format);
+            PaymentCreatedEvent decoded = (PaymentCreatedEvent) eventDeserializer.deserialize(TOPIC, headers, payload);
+            assertThat(decoded.getOrderId()).isEqualTo(event.getOrderId());
+            assertThat(decoded.getPaymentStatus()).isEqualTo(PaymentStatus.SUCCESS);
+        }
+    }
+
+    @Test
+    void givenRecordWithoutFormatHeader_whenDeserialize_thenReadItAsJson() {
+        UUID orderId = UUID.randomUUID();
+        byte[] legacy = ("{\"orderId\":\"" + orderId + "\",\"paymentStatus\":\"FAILED\"}")
+                .getBytes(StandardCharsets.UTF_8);
+
+        PaymentCreatedEvent decoded =
+                (PaymentCreatedEvent) eventDeserializer.deserialize(TOPIC, new RecordHeaders(), legacy);
+
+        assertThat(decoded.getOrderId()).isEqualTo(orderId);
+        assertThat(decoded.getPaymentStatus()).isEqualTo(PaymentStatus.FAILED);
+    }
+
+    @Test
+    void givenRepublishedRecord_whenSerializeInAnotherFormat_thenReplaceFormatHeader() {
+        RecordHeaders headers = new RecordHeaders();
+        WireFormat.BINARY.writeTo(headers);
+
+        try (EventSerializer eventSerializer = serializer("json")) {
+            eventSerializer.serialize(TOPIC, headers, new PaymentCreatedEvent(UUID.randomUUID(), PaymentStatus.FAILED));
+        }
+
+        assertThat(headers.headers(WireFormat.HEADER)).hasSize(1);
+        assertThat(WireFormat.of(headers)).isEqualTo(WireFormat.JSON);
+    }
+
+    private static EventSerializer serializer(String format) {
+        EventSerializer eventSerializer = new EventSerializer();
+        eventSerializer.configure(Map.of(
+                EventSerializer.FORMAT_CONFIG, format,
+                JsonSerializer.ADD_TYPE_INFO_HEADERS, false
+        ), false);
+        return eventSerializer;
+    }
+}
@@ -0,0 +1,97 @@
+package com.innowise.orderservice.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachingTokenVerifierTest {
+
+    @Mock
+    private TokenVerifier delegate;
+
+    private CachingTokenVerifier cachingTokenVerifier;
+
+    @BeforeEach
+    void setUp() {
+        cachingTokenVerifier = new CachingTokenVerifier(delegate, 100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void givenValidToken_whenVerifyTwice_thenCallDelegateOnce() {
+        String token = tokenExpiringAt(Instant.now().plusSeconds(60));
+        when(delegate.verify(token)).thenReturn(true);
+
+        assertThat(cachingTokenVerifier.verify(token)).isTrue();
+        assertThat(cachingTokenVerifier.verify(token)).isTrue();
+
+        verify(delegate, times(1)).verify(token);
+    }
+
+    @Test
+    void givenInvalidToken_whenVerifyTwice_thenDoNotCacheRejection() {
+        String token = tokenExpiringAt(Instant.now().plusSeconds(60));
+        when(delegate.verify(token)).thenReturn(false);
+
+        assertThat(cachingTokenVerifier.verify(token)).isFalse();
+        assertThat(cachingTokenVerifier.verify(token)).isFalse();
+
+        verify(delegate, times(2)).verify(token);
+    }
+
+    @Test
+    void givenExpiredToken_whenVerifyTwice_thenDoNotKeepEntryPastExpiry() {
+        String token = tokenExpiringAt(Instant.now().minusSeconds(1));
+        when(delegate.verify(token)).thenReturn(true);
+
+        cachingTokenVerifier.verify(token);
+        cachingTokenVerifier.verify(token);
+
+        verify(delegate, times(2)).verify(token);
+    }
+
+    @Test
+    void givenConcurrentRequestsWithSameToken_whenVerify_thenShareSingleVerification() throws Exception {
+        String token = tokenExpiringAt(Instant.now().plusSeconds(60));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.verify(token)).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return true;
+        });
+
+        CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(() -> cachingTokenVerifier.verify(token));
+        started.await(5, TimeUnit.SECONDS);
+        CompletableFuture<Boolean> second = CompletableFuture.supplyAsync(() -> cachingTokenVerifier.verify(token));
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(second.get(5, TimeUnit.SECONDS)).isTrue();
+        verify(delegate, times(1)).verify(token);
+    }
+
+    private static String tokenExpiringAt(Instant expiresAt) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String header = encoder.encodeToString("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.UTF_8));
+        String payload = encoder.encodeToString(
+                ("{\"sub\":\"user\",\"exp\":" + expiresAt.getEpochSecond() + "}").getBytes(StandardCharsets.UTF_8)
+        );
+        return header + "." + payload + ".signature";
+    }
+}
@@ -0,0 +1,134 @@
+package com.innowise.orderservice.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JwtTokenVerifierTest {
+
+    private static final String ISSUER = "auth-service";
+    private static final String KEY_ID = "local-key";
+
+    private static RSAKey signingKey;
+    private static RSAKey foreignKey;
+
+    @Mock
+    private TokenVerifier fallback;
+
+    private JwtTokenVerifier jwtTokenVerifier;
+
+    @BeforeAll
+    static void generateKeys() throws JOSEException {
+        signingKey = new RSAKeyGenerator(2048).keyID(KEY_ID).generate();
+        foreignKey = new RSAKeyGenerator(2048).keyID(KEY_ID).generate();
+    }
+
+    @BeforeEach
+    void setUp() {
+        String jwkSetJson = new JWKSet(signingKey.toPublicJWK()).toString();
+        JwkSetProvider jwkSetProvider = new JwkSetProvider(
+                new ByteArrayResource(jwkSetJson.getBytes(StandardCharsets.UTF_8))
+        );
+
+        jwtTokenVerifier = new JwtTokenVerifier(jwkSetProvider, ISSUER, fallback);
+    }
+
+    @Test
+    void givenValidToken_whenVerify_thenAcceptWithoutFallback() throws JOSEException {
+        String token = sign(signingKey, KEY_ID, claims(ISSUER, Instant.now().plusSeconds(300), null));
+
+        assertThat(jwtTokenVerifier.verify(token)).isTrue();
+        verifyNoInteractions(fallback);
+    }
+
+    @Test
+    void givenExpiredToken_whenVerify_thenReject() throws JOSEException {
+        String token = sign(signingKey, KEY_ID, claims(ISSUER, Instant.now().minusSeconds(300), null));
+
+        assertThat(jwtTokenVerifier.verify(token)).isFalse();
+        verifyNoInteractions(fallback);
+    }
+
+    @Test
+    void givenTokenNotYetValid_whenVerify_thenReject() throws JOSEException {
+        String token = sign(signingKey, KEY_ID,
+                claims(ISSUER, Instant.now().plusSeconds(600), Instant.now().plusSeconds(300)));
+
+        assertThat(jwtTokenVerifier.verify(token)).isFalse();
+    }
+
+    @Test
+    void givenTokenWithoutExpiry_whenVerify_thenReject() throws JOSEException {
+        String token = sign(signingKey, KEY_ID, claims(ISSUER, null, null));
+
+        assertThat(jwtTokenVerifier.verify(token)).isFalse();
+    }
+
+    @Test
+    void givenTokenFromAnotherIssuer_whenVerify_thenReject() throws JOSEException {
+        String token = sign(signingKey, KEY_ID, claims("someone-else", Instant.now().plusSeconds(300), null));
+
+        assertThat(jwtTokenVerifier.verify(token)).isFalse();
+    }
+
+    @Test
+    void givenTokenSignedWithForeignKey_whenVerify_thenReject() throws JOSEException {
+        String token = sign(foreignKey, KEY_ID, claims(ISSUER, Instant.now().plusSeconds(300), null));
+
+        assertThat(jwtTokenVerifier.verify(token)).isFalse();
+        verifyNoInteractions(fallback);
+    }
+
+    @Test
+    void givenTokenWithUnknownKeyId_whenVerify_thenDelegateToFallback() throws JOSEException {
+        String token = sign(foreignKey, "rotated-key", claims(ISSUER, Instant.now().plusSeconds(300), null));
+        when(fallback.verify(token)).thenReturn(true);
+
+        assertThat(jwtTokenVerifier.verify(token)).isTrue();
+        verify(fallback).verify(token);
+    }
+
+    @Test
+    void givenMalformedToken_whenVerify_thenReject() {
+        assertThat(jwtTokenVerifier.verify("not-a-jwt")).isFalse();
+        verifyNoInteractions(fallback);
+    }
+
+    private static JWTClaimsSet claims(String issuer, Instant expiresAt, Instant notBefore) {
+        return new JWTClaimsSet.Builder()
+                .subject("user")
+                .issuer(issuer)
+                .issueTime(new Date())
+                .expirationTime(expiresAt == null ? null : Date.from(expiresAt))
+                .notBeforeTime(notBefore == null ? null : Date.from(notBefore))
+                .build();
+    }
+
+    private static String sign(RSAKey key, String keyId, JWTClaimsSet claims) throws JOSEException {
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(keyId).build(), claims);
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+}
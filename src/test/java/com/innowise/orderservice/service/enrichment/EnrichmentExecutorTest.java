@@ -0,0 +1,106 @@
+package com.innowise.orderservice.service.enrichment;
+
+import com.innowise.orderservice.exception.custom.EnrichmentTimeoutException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EnrichmentExecutorTest {
+
+    private static final Duration DEADLINE = Duration.ofSeconds(1);
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private EnrichmentExecutor enrichmentExecutor;
+
+    @BeforeEach
+    void setUp() {
+        enrichmentExecutor = new EnrichmentExecutor(executor, DEADLINE, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void givenIndependentLookups_whenEnrich_thenRunThemConcurrently() {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        Enrichment<Boolean, Boolean> enrichment = enrichmentExecutor.enrich(
+                () -> awaitOther(bothStarted),
+                () -> awaitOther(bothStarted)
+        );
+
+        assertThat(enrichment.items()).isTrue();
+        assertThat(enrichment.users()).isTrue();
+    }
+
+    @Test
+    void givenSlowLookups_whenEnrich_thenTakeAboutAsLongAsTheSlowestOne() {
+        long startedAt = System.nanoTime();
+
+        enrichmentExecutor.enrich(() -> sleep(300), () -> sleep(300));
+
+        assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isLessThan(Duration.ofMillis(550));
+    }
+
+    @Test
+    void givenLookupExceedingDeadline_whenEnrich_thenThrowEnrichmentTimeoutException() {
+        assertThrows(EnrichmentTimeoutException.class,
+                () -> enrichmentExecutor.enrich(() -> "items", () -> sleep(DEADLINE.toMillis() * 4)));
+    }
+
+    @Test
+    void givenFailingLookup_whenEnrich_thenPropagateItsException() {
+        assertThrows(IllegalArgumentException.class, () -> enrichmentExecutor.enrich(
+                () -> "items",
+                () -> {
+                    throw new IllegalArgumentException("user not found");
+                }
+        ));
+    }
+
+    @Test
+    void givenActiveTransaction_whenEnrich_thenRunOnCallingThread() {
+        Thread caller = Thread.currentThread();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            Enrichment<Thread, Thread> enrichment = enrichmentExecutor.enrich(Thread::currentThread, Thread::currentThread);
+
+            assertThat(enrichment.items()).isSameAs(caller);
+            assertThat(enrichment.users()).isSameAs(caller);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+    }
+
+    private static boolean awaitOther(CountDownLatch latch) {
+        latch.countDown();
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static long sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return millis;
+    }
+}
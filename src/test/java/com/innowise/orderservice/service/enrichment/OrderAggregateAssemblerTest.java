@@ -0,0 +1,125 @@
+package com.innowise.orderservice.service.enrichment;
+
+import com.innowise.orderservice.client.user.UserFeignClient;
+import com.innowise.orderservice.dto.response.OrderItemResponse;
+import com.innowise.orderservice.dto.response.OrderResponse;
+import com.innowise.orderservice.mapper.OrderItemMapper;
+import com.innowise.orderservice.mapper.OrderMapper;
+import com.innowise.orderservice.model.Order;
+import com.innowise.orderservice.model.enums.Status;
+import com.innowise.orderservice.service.OrderItemService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static com.innowise.orderservice.constants.TestConstants.ITEM_RESPONSE;
+import static com.innowise.orderservice.constants.TestConstants.ORDER_ID;
+import static com.innowise.orderservice.constants.TestConstants.ORDER_ITEM_RESPONSE;
+import static com.innowise.orderservice.constants.TestConstants.USER_ID;
+import static com.innowise.orderservice.constants.TestConstants.USER_ID_2;
+import static com.innowise.orderservice.constants.TestConstants.USER_RESPONSE;
+import static com.innowise.orderservice.constants.TestConstants.USER_RESPONSE_2;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderAggregateAssemblerTest {
+
+    private static final UUID ORDER_ID_2 = UUID.fromString("66666666-6666-6666-6666-666666666666");
+    private static final UUID ORDER_ID_3 = UUID.fromString("77777777-7777-7777-7777-777777777777");
+
+    @Mock
+    private OrderItemService orderItemService;
+
+    @Mock
+    private UserFeignClient userFeignClient;
+
+    @Mock
+    private OrderMapper orderMapper;
+
+    @Mock
+    private OrderItemMapper orderItemMapper;
+
+    private OrderAggregateAssembler orderAggregateAssembler;
+
+    @BeforeEach
+    void setUp() {
+        EnrichmentExecutor enrichmentExecutor =
+                new EnrichmentExecutor(Runnable::run, Duration.ofSeconds(5), new SimpleMeterRegistry());
+        orderAggregateAssembler = new OrderAggregateAssembler(
+                orderItemService, userFeignClient, orderMapper, orderItemMapper, enrichmentExecutor);
+    }
+
+    @Test
+    void givenNoOrders_whenAssemble_thenSkipAllLookups() {
+        assertThat(orderAggregateAssembler.assemble(List.of())).isEmpty();
+
+        verifyNoInteractions(orderItemService, userFeignClient, orderMapper);
+    }
+
+    @Test
+    void givenOrdersOfSingleUser_whenAssemble_thenLookUpThatUserOnce() {
+        List<Order> orders = List.of(order(ORDER_ID, USER_ID), order(ORDER_ID_2, USER_ID));
+        when(orderItemService.findByOrderIds(Set.of(ORDER_ID, ORDER_ID_2))).thenReturn(List.of(ORDER_ITEM_RESPONSE));
+        when(userFeignClient.getUsersByIds(List.of(USER_ID))).thenReturn(List.of(USER_RESPONSE));
+        when(orderMapper.toResponse(any(Order.class))).thenAnswer(invocation -> response(invocation.getArgument(0)));
+
+        List<OrderResponse> responses = orderAggregateAssembler.assemble(orders);
+
+        assertThat(responses).extracting(OrderResponse::getUser).containsOnly(USER_RESPONSE);
+        verify(userFeignClient, never()).getUserById(any());
+    }
+
+    @Test
+    void givenOrdersOfUserMissingFromUserService_whenAssemble_thenReturnOrdersWithoutUser() {
+        List<Order> orders = List.of(order(ORDER_ID, USER_ID), order(ORDER_ID_2, USER_ID));
+        when(orderItemService.findByOrderIds(Set.of(ORDER_ID, ORDER_ID_2))).thenReturn(List.of(ORDER_ITEM_RESPONSE));
+        when(userFeignClient.getUsersByIds(List.of(USER_ID))).thenReturn(List.of());
+        when(orderMapper.toResponse(any(Order.class))).thenAnswer(invocation -> response(invocation.getArgument(0)));
+
+        List<OrderResponse> responses = orderAggregateAssembler.assemble(orders);
+
+        assertThat(responses).extracting(OrderResponse::getId).containsExactly(ORDER_ID, ORDER_ID_2);
+        assertThat(responses).extracting(OrderResponse::getUser).containsOnlyNulls();
+        assertThat(responses.getFirst().getItems()).containsExactly(ORDER_ITEM_RESPONSE);
+    }
+
+    @Test
+    void givenOrdersOfSeveralUsers_whenAssemble_thenJoinItemsAndUsersByOrder() {
+        List<Order> orders = List.of(order(ORDER_ID, USER_ID), order(ORDER_ID_2, USER_ID_2), order(ORDER_ID_3, USER_ID));
+        OrderItemResponse secondOrderItem = new OrderItemResponse(ORDER_ID_2, ITEM_RESPONSE, 1);
+        when(orderItemService.findByOrderIds(Set.of(ORDER_ID, ORDER_ID_2, ORDER_ID_3)))
+                .thenReturn(List.of(ORDER_ITEM_RESPONSE, secondOrderItem));
+        when(userFeignClient.getUsersByIds(List.of(USER_ID, USER_ID_2))).thenReturn(List.of(USER_RESPONSE_2, USER_RESPONSE));
+        when(orderMapper.toResponse(any(Order.class))).thenAnswer(invocation -> response(invocation.getArgument(0)));
+
+        List<OrderResponse> responses = orderAggregateAssembler.assemble(orders);
+
+        assertThat(responses).extracting(OrderResponse::getId).containsExactly(ORDER_ID, ORDER_ID_2, ORDER_ID_3);
+        assertThat(responses).extracting(OrderResponse::getUser)
+                .containsExactly(USER_RESPONSE, USER_RESPONSE_2, USER_RESPONSE);
+        assertThat(responses.get(0).getItems()).containsExactly(ORDER_ITEM_RESPONSE);
+        assertThat(responses.get(1).getItems()).containsExactly(secondOrderItem);
+        assertThat(responses.get(2).getItems()).isEmpty();
+    }
+
+    private static Order order(UUID orderId, UUID userId) {
+        return new Order(orderId, userId, Status.NEW, OffsetDateTime.now(), null);
+    }
+
+    private static OrderResponse response(Order order) {
+        return new OrderResponse(order.getId(), null, order.getStatus(), order.getCreationDate(), null, List.of());
+    }
+}
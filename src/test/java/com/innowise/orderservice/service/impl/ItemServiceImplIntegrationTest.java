@@ -3,19 +3,26 @@ package com.innowise.orderservice.service.impl;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertAll;
 
+import com.innowise.orderservice.OrderServiceApplication;
 import com.innowise.orderservice.constants.TestConstants;
 import com.innowise.orderservice.dao.ItemDao;
 import com.innowise.orderservice.dto.request.ItemRequest;
 import com.innowise.orderservice.dto.response.ItemResponse;
 import com.innowise.orderservice.model.Item;
+import com.innowise.orderservice.service.ItemService;
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.testcontainers.containers.KafkaContainer;
@@ -109,6 +116,19 @@ public class ItemServiceImplIntegrationTest {
         );
     }
 
+    @Test
+    void givenMoreIdsThanBindParameterLimit_whenFindByIds_thenReturnExistingItems() {
+        Set<UUID> ids = new HashSet<>(40_000);
+        ids.add(savedItemId);
+        while (ids.size() < 40_000) {
+            ids.add(UUID.randomUUID());
+        }
+
+        List<ItemResponse> responses = itemService.findByIds(ids);
+
+        assertThat(responses).extracting(ItemResponse::getId).containsExactly(savedItemId);
+    }
+
     @Test
     void givenItemRequest_whenCreate_thenPersistAndReturnResponse() {
         ItemRequest request = new ItemRequest("New Item", BigDecimal.valueOf(99.99));
@@ -142,4 +162,45 @@ public class ItemServiceImplIntegrationTest {
 
         assertThat(itemDao.findById(savedItemId)).isEmpty();
     }
+
+    @Test
+    void givenItemCachedByAnotherInstance_whenUpdate_thenOtherInstanceSeesNewPrice() throws InterruptedException {
+        try (ConfigurableApplicationContext replica = startReplica()) {
+            ItemService replicaItemService = replica.getBean(ItemService.class);
+            assertThat(replicaItemService.findById(savedItemId).getPrice())
+                    .isEqualByComparingTo(TestConstants.ITEM_PRICE);
+
+            itemService.update(savedItemId, new ItemRequest(TestConstants.ITEM_NAME, BigDecimal.valueOf(120)));
+
+            assertThat(awaitPrice(replicaItemService, savedItemId, BigDecimal.valueOf(120)))
+                    .isEqualByComparingTo("120");
+        }
+    }
+
+    private static ConfigurableApplicationContext startReplica() {
+        return new SpringApplicationBuilder(OrderServiceApplication.class)
+                .properties(
+                        "server.port=0",
+                        "user.service.url=mock",
+                        "kafka.topics.create-payment=mock",
+                        "kafka.topics.create-order=mock",
+                        "spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "spring.datasource.username=" + postgres.getUsername(),
+                        "spring.datasource.password=" + postgres.getPassword(),
+                        "spring.kafka.bootstrap-servers=" + kafka.getBootstrapServers(),
+                        "spring.kafka.consumer.group-id=test-item-cache-replica-group"
+                )
+                .run();
+    }
+
+    private static BigDecimal awaitPrice(ItemService itemService, UUID id, BigDecimal expected)
+            throws InterruptedException {
+        Instant deadline = Instant.now().plus(Duration.ofSeconds(10));
+        BigDecimal price = itemService.findById(id).getPrice();
+        while (price.compareTo(expected) != 0 && Instant.now().isBefore(deadline)) {
+            Thread.sleep(50);
+            price = itemService.findById(id).getPrice();
+        }
+        return price;
+    }
 }
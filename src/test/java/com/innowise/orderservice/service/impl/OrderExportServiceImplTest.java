@@ -0,0 +1,154 @@
+package com.innowise.orderservice.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.innowise.orderservice.dao.OrderDao;
+import com.innowise.orderservice.dto.response.OrderResponse;
+import com.innowise.orderservice.model.Order;
+import com.innowise.orderservice.model.enums.ExportFormat;
+import com.innowise.orderservice.model.enums.Status;
+import com.innowise.orderservice.service.enrichment.OrderAggregateAssembler;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static com.innowise.orderservice.constants.TestConstants.ORDER_ITEM_RESPONSE;
+import static com.innowise.orderservice.constants.TestConstants.USER_EMAIL;
+import static com.innowise.orderservice.constants.TestConstants.USER_ID;
+import static com.innowise.orderservice.constants.TestConstants.USER_RESPONSE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderExportServiceImplTest {
+
+    private static final int FETCH_SIZE = 50;
+    private static final int CHUNK_SIZE = 2;
+
+    @Mock
+    private OrderDao orderDao;
+
+    @Mock
+    private OrderAggregateAssembler orderAggregateAssembler;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    private OrderExportServiceImpl orderExportService;
+
+    @BeforeEach
+    void setUp() {
+        orderExportService = new OrderExportServiceImpl(
+                orderDao, orderAggregateAssembler, objectMapper, transactionManager, FETCH_SIZE, CHUNK_SIZE);
+    }
+
+    @Test
+    void givenMoreOrdersThanChunkSize_whenExportAsNdjson_thenEnrichInBoundedChunksAndWriteLinePerOrder()
+            throws Exception {
+        List<Order> orders = orders(5);
+        List<Integer> chunkSizes = new ArrayList<>();
+        streamOrders(orders);
+        when(orderAggregateAssembler.assemble(anyList())).thenAnswer(invocation -> {
+            List<Order> chunk = invocation.getArgument(0);
+            chunkSizes.add(chunk.size());
+            return chunk.stream().map(OrderExportServiceImplTest::response).toList();
+        });
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        orderExportService.export(Status.PAID, null, null, ExportFormat.NDJSON, outputStream);
+
+        List<String> lines = outputStream.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(chunkSizes).containsExactly(2, 2, 1);
+        assertThat(lines).hasSize(orders.size());
+        for (int i = 0; i < orders.size(); i++) {
+            JsonNode line = objectMapper.readTree(lines.get(i));
+            assertThat(line.get("id").asText()).isEqualTo(orders.get(i).getId().toString());
+            assertThat(line.get("items")).hasSize(1);
+        }
+        verify(orderDao).streamByFilter(eq(Status.PAID), eq(null), eq(null), eq(FETCH_SIZE), any());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void givenOrder_whenExportAsCsv_thenWriteHeaderAndRowWithTotal() {
+        List<Order> orders = orders(1);
+        streamOrders(orders);
+        when(orderAggregateAssembler.assemble(anyList())).thenReturn(List.of(response(orders.getFirst())));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        orderExportService.export(null, null, null, ExportFormat.CSV, outputStream);
+
+        List<String> lines = outputStream.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).containsExactly(
+                "id,user_id,user_email,status,creation_date,item_count,total_amount",
+                String.join(",",
+                        orders.getFirst().getId().toString(),
+                        USER_ID.toString(),
+                        USER_EMAIL,
+                        Status.PAID.name(),
+                        orders.getFirst().getCreationDate().toString(),
+                        "1",
+                        "499.95")
+        );
+    }
+
+    @Test
+    void givenNoMatchingOrders_whenExport_thenWriteNothingAndSkipEnrichment() {
+        streamOrders(List.of());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        orderExportService.export(Status.NEW, null, null, ExportFormat.NDJSON, outputStream);
+
+        assertThat(outputStream.size()).isZero();
+        verifyNoInteractions(orderAggregateAssembler);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void streamOrders(List<Order> orders) {
+        doAnswer(invocation -> {
+            Consumer<Order> consumer = invocation.getArgument(4);
+            orders.forEach(consumer);
+            return null;
+        }).when(orderDao).streamByFilter(any(), any(), any(), eq(FETCH_SIZE), any(Consumer.class));
+    }
+
+    private static List<Order> orders(int count) {
+        List<Order> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            OffsetDateTime creationDate = OffsetDateTime.of(2026, 1, 1, 12, i, 0, 0, ZoneOffset.UTC);
+            orders.add(new Order(UUID.randomUUID(), USER_ID, Status.PAID, creationDate, null));
+        }
+        return orders;
+    }
+
+    private static OrderResponse response(Order order) {
+        return new OrderResponse(
+                order.getId(),
+                USER_RESPONSE,
+                order.getStatus(),
+                order.getCreationDate(),
+                null,
+                List.of(ORDER_ITEM_RESPONSE)
+        );
+    }
+}
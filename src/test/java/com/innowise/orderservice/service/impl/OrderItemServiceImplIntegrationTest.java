@@ -15,6 +15,7 @@ import com.innowise.orderservice.model.OrderItem;
 import com.innowise.orderservice.model.enums.Status;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
@@ -149,7 +150,8 @@ public class OrderItemServiceImplIntegrationTest {
 
         OrderItemRequest request = new OrderItemRequest(savedOrderId, savedNewItem.getId(), 10);
 
-        List<OrderItemResponse> responses = orderItemService.createAll(List.of(request));
+        List<OrderItemResponse> responses =
+                orderItemService.createAll(savedOrderId, orderItemService.priceAll(List.of(request)));
         OrderItemResponse response = responses.getFirst();
 
         assertAll(
@@ -161,6 +163,59 @@ public class OrderItemServiceImplIntegrationTest {
         );
     }
 
+    @Test
+    void givenOrderItemsAboveCopyThreshold_whenCreateAll_thenPersistAllWithGeneratedIds() {
+        List<OrderItem> orderItems = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            Item item = itemDao.create(Item.builder()
+                    .name("Bulk item " + i)
+                    .price(BigDecimal.ONE)
+                    .build());
+            orderItems.add(OrderItem.builder()
+                    .orderId(savedOrderId)
+                    .itemId(item.getId())
+                    .quantity(i + 1)
+                    .build());
+        }
+
+        List<OrderItem> created = orderItemDao.createAll(orderItems);
+
+        assertAll(
+                () -> assertThat(created).hasSize(600).allSatisfy(orderItem -> assertThat(orderItem.getId()).isNotNull()),
+                () -> assertThat(orderItemDao.findByOrderId(savedOrderId)).hasSize(601),
+                () -> assertThat(orderItemDao.findById(created.getLast().getId()))
+                        .hasValueSatisfying(orderItem -> assertThat(orderItem.getQuantity()).isEqualTo(600))
+        );
+    }
+
+    @Test
+    void givenPricedOrderItemsAboveCopyThreshold_whenCreateAll_thenReadBackExactPrices() {
+        List<BigDecimal> prices = List.of(new BigDecimal("0.05"), new BigDecimal("12.50"),
+                new BigDecimal("10000.00"), new BigDecimal("99999999.99"), BigDecimal.ZERO,
+                new BigDecimal("0.01"), new BigDecimal("1234.56"), new BigDecimal("9999.99"));
+        Item item = itemDao.create(Item.builder()
+                .name("Priced bulk item " + UUID.randomUUID())
+                .price(BigDecimal.ONE)
+                .build());
+        List<OrderItem> orderItems = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            orderItems.add(OrderItem.builder()
+                    .orderId(savedOrderId)
+                    .itemId(item.getId())
+                    .quantity(i + 1)
+                    .unitPrice(prices.get(i % prices.size()))
+                    .build());
+        }
+
+        List<OrderItem> created = orderItemDao.createAll(orderItems);
+
+        for (int i = 0; i < created.size(); i++) {
+            BigDecimal expected = prices.get(i % prices.size()).setScale(2);
+            assertThat(orderItemDao.findById(created.get(i).getId()))
+                    .hasValueSatisfying(orderItem -> assertThat(orderItem.getUnitPrice()).isEqualTo(expected));
+        }
+    }
+
     @Test
     void givenOrderItem_whenDeleteById_thenRemoveFromDatabase() {
         orderItemService.deleteById(savedOrderItemId);
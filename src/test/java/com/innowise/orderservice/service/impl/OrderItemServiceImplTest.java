@@ -1,23 +1,34 @@
 package com.innowise.orderservice.service.impl;
 
+import com.innowise.orderservice.dao.ItemDao;
 import com.innowise.orderservice.dao.OrderItemDao;
 import com.innowise.orderservice.dto.request.OrderItemRequest;
+import com.innowise.orderservice.dto.response.ItemResponse;
 import com.innowise.orderservice.dto.response.OrderItemResponse;
 import com.innowise.orderservice.exception.custom.DuplicateItemInOrderException;
 import com.innowise.orderservice.exception.custom.ItemNotFoundException;
 import com.innowise.orderservice.exception.custom.OrderItemNotFoundException;
+import com.innowise.orderservice.mapper.ItemMapper;
 import com.innowise.orderservice.mapper.OrderItemMapper;
+import com.innowise.orderservice.model.Item;
+import com.innowise.orderservice.model.OrderItem;
 import com.innowise.orderservice.service.ItemService;
+import com.innowise.orderservice.service.pricing.PricedOrderItems;
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import static com.innowise.orderservice.constants.TestConstants.ITEM;
 import static com.innowise.orderservice.constants.TestConstants.ITEM_ID;
 import static com.innowise.orderservice.constants.TestConstants.ITEM_IDS;
+import static com.innowise.orderservice.constants.TestConstants.ITEM_PRICE;
 import static com.innowise.orderservice.constants.TestConstants.ITEM_RESPONSE;
 import static com.innowise.orderservice.constants.TestConstants.ORDER_ID;
 import static com.innowise.orderservice.constants.TestConstants.ORDER_ITEM;
@@ -27,8 +38,10 @@ import static com.innowise.orderservice.constants.TestConstants.ORDER_ITEM_RESPO
 import static com.innowise.orderservice.constants.TestConstants.QUANTITY;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,9 +53,15 @@ class OrderItemServiceImplTest {
     @Mock
     private ItemService itemService;
 
+    @Mock
+    private ItemDao itemDao;
+
     @Mock
     private OrderItemMapper orderItemMapper;
 
+    @Mock
+    private ItemMapper itemMapper;
+
     @InjectMocks
     private OrderItemServiceImpl orderItemService;
 
@@ -113,39 +132,94 @@ class OrderItemServiceImplTest {
     }
 
     @Test
-    void givenValidOrderItems_whenCreateAll_thenPersistAndReturnResponses() {
-        when(itemService.findByIds(ITEM_IDS)).thenReturn(List.of(ITEM_RESPONSE));
-        when(orderItemMapper.toEntity(ORDER_ITEM_REQUEST)).thenReturn(ORDER_ITEM);
-        when(orderItemDao.createAll(List.of(ORDER_ITEM))).thenReturn(List.of(ORDER_ITEM));
-        when(orderItemMapper.toResponse(ORDER_ITEM))
-                .thenReturn(OrderItemResponse.builder().orderId(ORDER_ID).quantity(QUANTITY).build());
-
-        List<OrderItemResponse> result = orderItemService.createAll(List.of(ORDER_ITEM_REQUEST));
+    void givenValidOrderItems_whenPriceAllAndCreateAll_thenPersistSnapshotsAndReturnResponses() {
+        UUID newOrderId = UUID.randomUUID();
+        OrderItem orderItem = new OrderItem(null, ORDER_ID, ITEM_ID, QUANTITY, null);
+        when(itemDao.findByIds(ITEM_IDS)).thenReturn(List.of(ITEM));
+        when(itemMapper.toResponse(ITEM)).thenReturn(ITEM_RESPONSE);
+        when(orderItemMapper.toEntity(ORDER_ITEM_REQUEST)).thenReturn(orderItem);
+        when(orderItemDao.createAll(List.of(orderItem))).thenReturn(List.of(orderItem));
+        when(orderItemMapper.toResponse(orderItem))
+                .thenReturn(OrderItemResponse.builder().orderId(newOrderId).quantity(QUANTITY).build());
+
+        PricedOrderItems pricedItems = orderItemService.priceAll(List.of(ORDER_ITEM_REQUEST));
+        List<OrderItemResponse> result = orderItemService.createAll(newOrderId, pricedItems);
 
         assertThat(result).hasSize(1);
         assertThat(result.getFirst().getItem()).isEqualTo(ITEM_RESPONSE);
+        assertThat(orderItem.getUnitPrice()).isEqualTo(ITEM_PRICE);
+        assertThat(orderItem.getOrderId()).isEqualTo(newOrderId);
+        verifyNoInteractions(itemService);
+    }
+
+    @Test
+    void givenSeveralItems_whenPriceAll_thenSumExactTotalBeforeAnyWrite() {
+        Item cheapItem = new Item(UUID.randomUUID(), "Cheap item", new BigDecimal("0.10"));
+        Item pricedItem = new Item(UUID.randomUUID(), "Priced item", new BigDecimal("10.01"));
+        List<OrderItemRequest> requests = List.of(
+                new OrderItemRequest(ORDER_ID, cheapItem.getId(), 3),
+                new OrderItemRequest(ORDER_ID, pricedItem.getId(), 5)
+        );
+        when(itemDao.findByIds(Set.of(cheapItem.getId(), pricedItem.getId())))
+                .thenReturn(List.of(cheapItem, pricedItem));
+        when(itemMapper.toResponse(any(Item.class)))
+                .thenAnswer(invocation -> {
+                    Item item = invocation.getArgument(0);
+                    return new ItemResponse(item.getId(), item.getName(), item.getPrice());
+                });
+        requests.forEach(request -> when(orderItemMapper.toEntity(request)).thenReturn(
+                new OrderItem(null, null, request.getItemId(), request.getQuantity(), null)));
+
+        PricedOrderItems pricedItems = orderItemService.priceAll(requests);
+
+        assertThat(pricedItems.total()).isEqualTo(new BigDecimal("50.35"));
+        assertThat(pricedItems.orderItems())
+                .extracting(OrderItem::getUnitPrice)
+                .containsExactly(new BigDecimal("0.10"), new BigDecimal("10.01"));
+        verifyNoInteractions(orderItemDao);
     }
 
     @Test
-    void givenDuplicateItems_whenCreateAll_thenThrowDuplicateItemException() {
+    void givenOrderItemPricedBeforeRepricing_whenFindById_thenReturnSnapshotPrice() {
+        BigDecimal snapshotPrice = new BigDecimal("79.99");
+        OrderItem orderItem = new OrderItem(ORDER_ITEM_ID, ORDER_ID, ITEM_ID, QUANTITY, snapshotPrice);
+        when(orderItemDao.findById(ORDER_ITEM_ID)).thenReturn(Optional.of(orderItem));
+        when(itemService.findById(ITEM_ID)).thenReturn(ITEM_RESPONSE);
+        when(orderItemMapper.toResponse(orderItem)).thenReturn(
+                OrderItemResponse.builder().orderId(ORDER_ID).quantity(QUANTITY).build()
+        );
+
+        OrderItemResponse result = orderItemService.findById(ORDER_ITEM_ID);
+
+        assertThat(result.getItem().getId()).isEqualTo(ITEM_ID);
+        assertThat(result.getItem().getName()).isEqualTo(ITEM_RESPONSE.getName());
+        assertThat(result.getItem().getPrice()).isEqualTo(snapshotPrice);
+    }
+
+    @Test
+    void givenDuplicateItems_whenPriceAll_thenThrowDuplicateItemException() {
         List<OrderItemRequest> duplicates = List.of(
                 ORDER_ITEM_REQUEST,
                 new OrderItemRequest(ORDER_ID, ITEM_ID, 3)
         );
 
-        assertThrows(DuplicateItemInOrderException.class, () -> orderItemService.createAll(duplicates));
+        assertThrows(DuplicateItemInOrderException.class, () -> orderItemService.priceAll(duplicates));
     }
 
     @Test
-    void givenMissingItems_whenCreateAll_thenThrowItemNotFoundException() {
-        when(itemService.findByIds(ITEM_IDS)).thenReturn(List.of());
-        assertThrows(ItemNotFoundException.class, () -> orderItemService.createAll(List.of(ORDER_ITEM_REQUEST)));
+    void givenMissingItems_whenPriceAll_thenThrowItemNotFoundException() {
+        when(itemDao.findByIds(ITEM_IDS)).thenReturn(List.of());
+        assertThrows(ItemNotFoundException.class, () -> orderItemService.priceAll(List.of(ORDER_ITEM_REQUEST)));
     }
 
     @Test
-    void givenEmptyOrderItemList_whenCreateAll_thenReturnEmptyList() {
-        List<OrderItemResponse> result = orderItemService.createAll(List.of());
+    void givenEmptyOrderItemList_whenPriceAllAndCreateAll_thenReturnEmptyList() {
+        PricedOrderItems pricedItems = orderItemService.priceAll(List.of());
+        List<OrderItemResponse> result = orderItemService.createAll(ORDER_ID, pricedItems);
+
+        assertThat(pricedItems.total()).isZero();
         assertThat(result).isEmpty();
+        verifyNoInteractions(orderItemDao);
     }
 
     @Test
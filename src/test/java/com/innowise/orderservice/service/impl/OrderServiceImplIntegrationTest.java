@@ -3,13 +3,21 @@ package com.innowise.orderservice.service.impl;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.innowise.orderservice.client.user.UserResponse;
 import com.innowise.orderservice.constants.TestConstants;
+import com.innowise.orderservice.dao.ItemDao;
 import com.innowise.orderservice.dao.OrderDao;
+import com.innowise.orderservice.dao.OrderItemDao;
 import com.innowise.orderservice.dto.request.OrderRequest;
 import com.innowise.orderservice.dto.response.OrderResponse;
+import com.innowise.orderservice.kafka.consumer.PaymentStatus;
+import com.innowise.orderservice.model.Item;
 import com.innowise.orderservice.model.Order;
+import com.innowise.orderservice.model.OrderItem;
 import com.innowise.orderservice.model.enums.Status;
+import com.innowise.orderservice.model.enums.StatusTransition;
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,6 +26,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.testcontainers.containers.KafkaContainer;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
@@ -75,9 +84,18 @@ class OrderServiceImplIntegrationTest {
     @Autowired
     private OrderDao orderDao;
 
+    @Autowired
+    private OrderItemDao orderItemDao;
+
+    @Autowired
+    private ItemDao itemDao;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     private UUID userId;
     private UUID orderId;
 
@@ -120,6 +138,7 @@ class OrderServiceImplIntegrationTest {
 
         stubFor(get(urlPathEqualTo(TestConstants.GET_USER_BY_ID_URL + userId))
                 .willReturn(okJson(objectMapper.writeValueAsString(user))));
+        stubUsersBatch(user);
 
         OrderResponse response = orderService.findById(orderId);
 
@@ -137,6 +156,7 @@ class OrderServiceImplIntegrationTest {
 
         stubFor(get(urlPathEqualTo(TestConstants.GET_USER_BY_ID_URL + newUserId))
                 .willReturn(okJson(objectMapper.writeValueAsString(user))));
+        stubUsersBatch(user);
 
         OrderRequest request = new OrderRequest();
         request.setUserId(newUserId);
@@ -149,6 +169,7 @@ class OrderServiceImplIntegrationTest {
 
         Order fromDb = orderDao.findById(response.getId()).orElseThrow();
         assertEquals(newUserId, fromDb.getUserId());
+        assertEquals(0, BigDecimal.ZERO.compareTo(fromDb.getTotal()));
     }
 
     @Test
@@ -158,6 +179,7 @@ class OrderServiceImplIntegrationTest {
 
         stubFor(get(urlPathEqualTo(TestConstants.GET_USER_BY_ID_URL + TestConstants.USER_ID_3))
                 .willReturn(okJson(objectMapper.writeValueAsString(user))));
+        stubUsersBatch(user);
 
         OrderRequest updateRequest = new OrderRequest();
         updateRequest.setUserId(TestConstants.USER_ID_3);
@@ -177,4 +199,58 @@ class OrderServiceImplIntegrationTest {
         orderService.deleteById(orderId);
         assertTrue(orderDao.findById(orderId).isEmpty());
     }
+
+    @Test
+    @Transactional
+    void givenPaymentEventsReplayedOrReordered_whenUpdateStatusById_thenNeverRegressPaidOrder() {
+        assertEquals(StatusTransition.APPLIED, orderService.updateStatusById(orderId, PaymentStatus.SUCCESS));
+        assertEquals(StatusTransition.ALREADY_IN_STATE, orderService.updateStatusById(orderId, PaymentStatus.SUCCESS));
+        assertEquals(StatusTransition.ILLEGAL, orderService.updateStatusById(orderId, PaymentStatus.FAILED));
+        assertEquals(StatusTransition.NOT_FOUND,
+                orderService.updateStatusById(UUID.randomUUID(), PaymentStatus.SUCCESS));
+
+        assertEquals(Status.PAID, orderDao.findById(orderId).orElseThrow().getStatus());
+    }
+
+    @Test
+    void givenPaymentCommittedBetweenReadAndWrite_whenUpdateOrder_thenKeepPaidStatus() {
+        try {
+            transactionTemplate.executeWithoutResult(transaction -> {
+                Order existingOrder = orderDao.findById(orderId).orElseThrow();
+                existingOrder.setUserId(TestConstants.USER_ID_3);
+
+                StatusTransition transition = CompletableFuture
+                        .supplyAsync(() -> orderService.updateStatusById(orderId, PaymentStatus.SUCCESS))
+                        .join();
+                assertEquals(StatusTransition.APPLIED, transition);
+
+                orderDao.updateById(orderId, existingOrder);
+            });
+
+            Order fromDb = orderDao.findById(orderId).orElseThrow();
+            assertEquals(Status.PAID, fromDb.getStatus());
+            assertEquals(TestConstants.USER_ID_3, fromDb.getUserId());
+        } finally {
+            orderDao.deleteById(orderId);
+        }
+    }
+
+    @Test
+    @Transactional
+    void givenOrderWithoutStoredPrices_whenBackfillTotals_thenSnapshotItemPricesAndStoreTotal() {
+        Item item = itemDao.create(new Item(null, "Backfill " + UUID.randomUUID(), new BigDecimal("12.50")));
+        orderItemDao.createAll(List.of(new OrderItem(null, orderId, item.getId(), 3, null)));
+
+        assertTrue(orderDao.backfillTotals(500) >= 1);
+
+        assertEquals(new BigDecimal("37.50"), orderDao.findById(orderId).orElseThrow().getTotal());
+        assertEquals(new BigDecimal("12.50"), orderItemDao.findByOrderId(orderId).getFirst().getUnitPrice());
+        assertEquals(0, orderDao.backfillTotals(500));
+    }
+
+    private void stubUsersBatch(UserResponse user) throws Exception {
+        stubFor(get(urlPathEqualTo(TestConstants.GET_USERS_BY_IDS_URL))
+                .withQueryParam("ids", matching(".*"))
+                .willReturn(okJson(objectMapper.writeValueAsString(List.of(user)))));
+    }
 }
@@ -2,39 +2,73 @@ package com.innowise.orderservice.service.impl;
 
 import com.innowise.orderservice.client.user.UserFeignClient;
 import com.innowise.orderservice.dao.OrderDao;
+import com.innowise.orderservice.dao.OrderOutboxDao;
 import com.innowise.orderservice.dto.request.OrderRequest;
+import com.innowise.orderservice.dto.response.OrderPageResponse;
 import com.innowise.orderservice.dto.response.OrderResponse;
+import com.innowise.orderservice.exception.custom.InvalidCursorException;
 import com.innowise.orderservice.exception.custom.OrderNotFoundException;
-import com.innowise.orderservice.kafka.producer.OrderCreatedEventProducer;
+import com.innowise.orderservice.kafka.consumer.PaymentStatus;
+import com.innowise.orderservice.mapper.OrderItemMapper;
 import com.innowise.orderservice.mapper.OrderMapper;
 import com.innowise.orderservice.model.Order;
+import com.innowise.orderservice.model.OrderAggregate;
+import com.innowise.orderservice.model.OrderCursor;
+import com.innowise.orderservice.model.OrderLine;
+import com.innowise.orderservice.model.OrderOutboxEntry;
 import com.innowise.orderservice.model.enums.Status;
+import com.innowise.orderservice.model.enums.StatusTransition;
 import com.innowise.orderservice.service.OrderItemService;
+import com.innowise.orderservice.service.enrichment.EnrichmentExecutor;
+import com.innowise.orderservice.service.enrichment.OrderAggregateAssembler;
+import com.innowise.orderservice.service.pricing.PricedOrderItems;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
 
+import static com.innowise.orderservice.constants.TestConstants.ITEM;
+import static com.innowise.orderservice.constants.TestConstants.ITEM_ID;
+import static com.innowise.orderservice.constants.TestConstants.ITEM_PRICE;
+import static com.innowise.orderservice.constants.TestConstants.ITEM_RESPONSE;
 import static com.innowise.orderservice.constants.TestConstants.ORDER_ID;
+import static com.innowise.orderservice.constants.TestConstants.ORDER_ITEM;
 import static com.innowise.orderservice.constants.TestConstants.ORDER_ITEM_REQUEST;
 import static com.innowise.orderservice.constants.TestConstants.ORDER_ITEM_RESPONSE;
+import static com.innowise.orderservice.constants.TestConstants.QUANTITY;
 import static com.innowise.orderservice.constants.TestConstants.USER_ID;
 import static com.innowise.orderservice.constants.TestConstants.USER_RESPONSE;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class OrderServiceImplTest {
 
+    private static final PricedOrderItems PRICED_ORDER_ITEMS = new PricedOrderItems(
+            List.of(ORDER_ITEM),
+            Map.of(ITEM_ID, ITEM_RESPONSE),
+            ITEM_PRICE.multiply(BigDecimal.valueOf(QUANTITY))
+    );
+
     @Mock
     private OrderDao orderDao;
 
@@ -44,22 +78,45 @@ class OrderServiceImplTest {
     @Mock
     private OrderMapper orderMapper;
 
+    @Mock
+    private OrderItemMapper orderItemMapper;
+
     @Mock
     private UserFeignClient userFeignClient;
 
     @Mock
-    private OrderCreatedEventProducer orderCreatedEventProducer;
+    private OrderOutboxDao orderOutboxDao;
 
-    @InjectMocks
     private OrderServiceImpl orderService;
 
+    @BeforeEach
+    void setUp() {
+        EnrichmentExecutor enrichmentExecutor =
+                new EnrichmentExecutor(Runnable::run, Duration.ofSeconds(5), new SimpleMeterRegistry());
+        OrderAggregateAssembler orderAggregateAssembler =
+                new OrderAggregateAssembler(
+                        orderItemService, userFeignClient, orderMapper, orderItemMapper, enrichmentExecutor);
+
+        orderService = new OrderServiceImpl(
+                orderDao,
+                orderItemService,
+                orderMapper,
+                userFeignClient,
+                orderAggregateAssembler,
+                orderOutboxDao
+        );
+    }
+
     @Test
     void givenExistingOrder_whenFindById_thenReturnOrderResponseWithItemsAndUser() {
-        Order order = new Order(ORDER_ID, USER_ID, Status.NEW, OffsetDateTime.now());
-        OrderResponse response = new OrderResponse(ORDER_ID, null, Status.NEW, order.getCreationDate(), List.of());
+        Order order = new Order(ORDER_ID, USER_ID, Status.NEW, OffsetDateTime.now(), null);
+        OrderResponse response =
+                new OrderResponse(ORDER_ID, null, Status.NEW, order.getCreationDate(), null, List.of());
 
-        when(orderDao.findById(ORDER_ID)).thenReturn(Optional.of(order));
-        when(orderItemService.findByOrderId(ORDER_ID)).thenReturn(List.of(ORDER_ITEM_RESPONSE));
+        OrderLine line = new OrderLine(ORDER_ITEM, ITEM);
+
+        when(orderDao.findAggregateById(ORDER_ID)).thenReturn(Optional.of(new OrderAggregate(order, List.of(line))));
+        when(orderItemMapper.toResponse(line)).thenReturn(ORDER_ITEM_RESPONSE);
         when(userFeignClient.getUserById(order.getUserId())).thenReturn(USER_RESPONSE);
         when(orderMapper.toResponse(order)).thenReturn(response);
 
@@ -68,24 +125,26 @@ class OrderServiceImplTest {
         assertThat(result.getId()).isEqualTo(ORDER_ID);
         assertThat(result.getItems()).containsExactly(ORDER_ITEM_RESPONSE);
         assertThat(result.getUser()).isEqualTo(USER_RESPONSE);
-        verify(orderDao).findById(ORDER_ID);
+        verify(orderDao).findAggregateById(ORDER_ID);
+        verifyNoInteractions(orderItemService);
     }
 
     @Test
     void givenNonExistingOrder_whenFindById_thenThrowOrderNotFoundException() {
-        when(orderDao.findById(ORDER_ID)).thenReturn(Optional.empty());
+        when(orderDao.findAggregateById(ORDER_ID)).thenReturn(Optional.empty());
         assertThrows(OrderNotFoundException.class, () -> orderService.findById(ORDER_ID));
-        verify(orderDao).findById(ORDER_ID);
+        verify(orderDao).findAggregateById(ORDER_ID);
     }
 
     @Test
     void givenOrdersWithStatus_whenFindByStatus_thenReturnOrderResponsesWithItemsAndUsers() {
-        Order order = new Order(ORDER_ID, USER_ID, Status.NEW, OffsetDateTime.now());
-        OrderResponse response = new OrderResponse(ORDER_ID, null, Status.NEW, order.getCreationDate(), List.of());
+        Order order = new Order(ORDER_ID, USER_ID, Status.NEW, OffsetDateTime.now(), null);
+        OrderResponse response =
+                new OrderResponse(ORDER_ID, null, Status.NEW, order.getCreationDate(), null, List.of());
 
         when(orderDao.findByStatus(Status.NEW)).thenReturn(List.of(order));
         when(orderItemService.findByOrderIds(Set.of(ORDER_ID))).thenReturn(List.of(ORDER_ITEM_RESPONSE));
-        when(userFeignClient.getUsersByIds(List.of(order.getUserId()))).thenReturn(List.of(USER_RESPONSE));
+        when(userFeignClient.getUsersByIds(List.of(USER_ID))).thenReturn(List.of(USER_RESPONSE));
         when(orderMapper.toResponse(order)).thenReturn(response);
 
         List<OrderResponse> result = orderService.findByStatus(Status.NEW);
@@ -97,15 +156,17 @@ class OrderServiceImplTest {
 
     @Test
     void givenValidOrderRequest_whenCreate_thenPersistOrderAndReturnResponseWithItemsAndUser() {
-        Order orderEntity = new Order(null, USER_ID, Status.NEW, OffsetDateTime.now());
-        Order savedOrder = new Order(ORDER_ID, USER_ID, Status.NEW, OffsetDateTime.now());
+        Order orderEntity = new Order(null, USER_ID, Status.NEW, OffsetDateTime.now(), null);
+        Order savedOrder = new Order(ORDER_ID, USER_ID, Status.NEW, OffsetDateTime.now(), null);
         OrderRequest orderRequest = new OrderRequest(USER_ID, Status.NEW, List.of(ORDER_ITEM_REQUEST));
-        OrderResponse response = new OrderResponse(ORDER_ID, null, Status.NEW, savedOrder.getCreationDate(), List.of());
+        OrderResponse response =
+                new OrderResponse(ORDER_ID, null, Status.NEW, savedOrder.getCreationDate(), null, List.of());
 
         when(userFeignClient.getUserById(orderRequest.getUserId())).thenReturn(USER_RESPONSE);
         when(orderMapper.toEntity(orderRequest)).thenReturn(orderEntity);
+        when(orderItemService.priceAll(orderRequest.getOrderItems())).thenReturn(PRICED_ORDER_ITEMS);
         when(orderDao.create(orderEntity)).thenReturn(savedOrder);
-        when(orderItemService.createAll(orderRequest.getOrderItems())).thenReturn(List.of(ORDER_ITEM_RESPONSE));
+        when(orderItemService.createAll(ORDER_ID, PRICED_ORDER_ITEMS)).thenReturn(List.of(ORDER_ITEM_RESPONSE));
         when(orderMapper.toResponse(savedOrder)).thenReturn(response);
 
         OrderResponse result = orderService.create(orderRequest);
@@ -115,18 +176,50 @@ class OrderServiceImplTest {
         assertThat(result.getUser()).isEqualTo(USER_RESPONSE);
     }
 
+    @Test
+    void givenPricedOrderItems_whenCreate_thenInsertTotalWithOrderAndWriteItToOutbox() {
+        BigDecimal total = new BigDecimal("50.05");
+        Order orderEntity = new Order(null, USER_ID, Status.NEW, OffsetDateTime.now(), null);
+        Order savedOrder = new Order(ORDER_ID, USER_ID, Status.NEW, OffsetDateTime.now(), total);
+        OrderRequest orderRequest = new OrderRequest(USER_ID, Status.NEW, List.of(ORDER_ITEM_REQUEST));
+        OrderResponse response =
+                new OrderResponse(ORDER_ID, null, Status.NEW, savedOrder.getCreationDate(), null, List.of());
+        PricedOrderItems pricedItems = new PricedOrderItems(List.of(ORDER_ITEM), Map.of(ITEM_ID, ITEM_RESPONSE), total);
+
+        when(userFeignClient.getUserById(orderRequest.getUserId())).thenReturn(USER_RESPONSE);
+        when(orderItemService.priceAll(orderRequest.getOrderItems())).thenReturn(pricedItems);
+        when(orderMapper.toEntity(orderRequest)).thenReturn(orderEntity);
+        when(orderDao.create(orderEntity)).thenAnswer(invocation -> {
+            assertThat(orderEntity.getTotal()).isEqualTo(total);
+            return savedOrder;
+        });
+        when(orderItemService.createAll(ORDER_ID, pricedItems)).thenReturn(List.of(ORDER_ITEM_RESPONSE));
+        when(orderMapper.toResponse(savedOrder)).thenReturn(response);
+
+        orderService.create(orderRequest);
+
+        verify(orderDao).create(orderEntity);
+        verify(orderDao, never()).updateById(any(), any());
+        ArgumentCaptor<OrderOutboxEntry> entry = ArgumentCaptor.forClass(OrderOutboxEntry.class);
+        verify(orderOutboxDao).create(entry.capture());
+        assertThat(entry.getValue().getOrderId()).isEqualTo(ORDER_ID);
+        assertThat(entry.getValue().getTotal()).isEqualTo(total);
+    }
+
     @Test
     void givenExistingOrderAndValidUpdateRequest_whenUpdateById_thenUpdateOrderAndReturnResponseWithItemsAndUser() {
-        Order existingOrder = new Order(ORDER_ID, USER_ID, Status.NEW, OffsetDateTime.now());
-        Order updatedOrder = new Order(ORDER_ID, USER_ID, Status.NEW, OffsetDateTime.now());
+        Order existingOrder = new Order(ORDER_ID, USER_ID, Status.NEW, OffsetDateTime.now(), null);
+        Order updatedOrder = new Order(ORDER_ID, USER_ID, Status.NEW, OffsetDateTime.now(), null);
         OrderRequest orderRequest = new OrderRequest(USER_ID, Status.NEW, List.of(ORDER_ITEM_REQUEST));
-        OrderResponse response = new OrderResponse(ORDER_ID, null, Status.NEW, updatedOrder.getCreationDate(), List.of(ORDER_ITEM_RESPONSE));
+        OrderResponse response = new OrderResponse(
+                ORDER_ID, null, Status.NEW, updatedOrder.getCreationDate(), null, List.of(ORDER_ITEM_RESPONSE));
 
         when(orderDao.findById(ORDER_ID)).thenReturn(Optional.of(existingOrder));
         when(userFeignClient.getUserById(orderRequest.getUserId())).thenReturn(USER_RESPONSE);
+        when(orderItemService.priceAll(orderRequest.getOrderItems())).thenReturn(PRICED_ORDER_ITEMS);
         when(orderDao.updateById(ORDER_ID, existingOrder)).thenReturn(updatedOrder);
         doNothing().when(orderItemService).deleteByOrderId(ORDER_ID);
-        when(orderItemService.createAll(orderRequest.getOrderItems())).thenReturn(List.of(ORDER_ITEM_RESPONSE));
+        when(orderItemService.createAll(ORDER_ID, PRICED_ORDER_ITEMS)).thenReturn(List.of(ORDER_ITEM_RESPONSE));
         when(orderMapper.toResponse(updatedOrder)).thenReturn(response);
 
         OrderResponse result = orderService.updateById(ORDER_ID, orderRequest);
@@ -135,8 +228,9 @@ class OrderServiceImplTest {
         assertThat(result.getItems()).containsExactly(ORDER_ITEM_RESPONSE);
         assertThat(result.getUser()).isEqualTo(USER_RESPONSE);
 
+        assertThat(existingOrder.getTotal()).isEqualTo(PRICED_ORDER_ITEMS.total());
         verify(orderItemService).deleteByOrderId(ORDER_ID);
-        verify(orderItemService).createAll(orderRequest.getOrderItems());
+        verify(orderItemService).createAll(ORDER_ID, PRICED_ORDER_ITEMS);
     }
 
     @Test
@@ -145,4 +239,76 @@ class OrderServiceImplTest {
         orderService.deleteById(ORDER_ID);
         verify(orderDao).deleteById(ORDER_ID);
     }
+
+    @Test
+    void givenPaymentStatuses_whenUpdateStatuses_thenTransitionMappedStatusesInOneCall() {
+        UUID paidOrderId = UUID.randomUUID();
+        UUID cancelledOrderId = UUID.randomUUID();
+        Map<UUID, Status> statuses = Map.of(paidOrderId, Status.PAID, cancelledOrderId, Status.CANCELLED);
+        Map<UUID, StatusTransition> outcomes =
+                Map.of(paidOrderId, StatusTransition.APPLIED, cancelledOrderId, StatusTransition.ILLEGAL);
+        when(orderDao.transitionStatuses(statuses)).thenReturn(outcomes);
+
+        Map<UUID, StatusTransition> result = orderService.updateStatuses(
+                Map.of(paidOrderId, PaymentStatus.SUCCESS, cancelledOrderId, PaymentStatus.FAILED));
+
+        assertThat(result).isEqualTo(outcomes);
+        verify(orderDao).transitionStatuses(statuses);
+    }
+
+    @Test
+    void givenPaymentStatus_whenUpdateStatusById_thenReturnTransitionOutcome() {
+        when(orderDao.transitionStatuses(Map.of(ORDER_ID, Status.PAID)))
+                .thenReturn(Map.of(ORDER_ID, StatusTransition.ALREADY_IN_STATE));
+
+        StatusTransition result = orderService.updateStatusById(ORDER_ID, PaymentStatus.SUCCESS);
+
+        assertThat(result).isEqualTo(StatusTransition.ALREADY_IN_STATE);
+        verify(orderDao, never()).findById(ORDER_ID);
+    }
+
+    @Test
+    void givenMoreOrdersThanPageSize_whenFindPageByStatus_thenReturnPageWithNextCursor() {
+        List<Order> orders = List.of(
+                pagedOrder(3, "aaaaaaaa-0000-7000-8000-000000000003"),
+                pagedOrder(2, "aaaaaaaa-0000-7000-8000-000000000002"),
+                pagedOrder(1, "aaaaaaaa-0000-7000-8000-000000000001")
+        );
+        when(orderDao.findPageByStatus(Status.PAID, null, 3)).thenReturn(orders);
+        when(orderItemService.findByOrderIds(any())).thenReturn(List.of());
+        when(userFeignClient.getUsersByIds(List.of(USER_ID))).thenReturn(List.of(USER_RESPONSE));
+        when(orderMapper.toResponse(any(Order.class))).thenAnswer(invocation -> {
+            Order order = invocation.getArgument(0);
+            return new OrderResponse(order.getId(), null, order.getStatus(), order.getCreationDate(), null, List.of());
+        });
+
+        OrderPageResponse page = orderService.findPageByStatus(Status.PAID, null, 2);
+
+        assertThat(page.getOrders()).extracting(OrderResponse::getId)
+                .containsExactly(orders.get(0).getId(), orders.get(1).getId());
+        assertThat(OrderCursor.decode(page.getNextCursor())).isEqualTo(OrderCursor.after(orders.get(1)));
+    }
+
+    @Test
+    void givenCursor_whenFindPageByStatus_thenContinueAfterCursorAndCapPageSize() {
+        OrderCursor cursor = OrderCursor.after(pagedOrder(5, "aaaaaaaa-0000-7000-8000-000000000005"));
+        when(orderDao.findPageByStatus(Status.PAID, cursor, 101)).thenReturn(List.of());
+
+        OrderPageResponse page = orderService.findPageByStatus(Status.PAID, cursor.encode(), 10_000);
+
+        assertThat(page.getOrders()).isEmpty();
+        assertThat(page.getNextCursor()).isNull();
+        verifyNoInteractions(orderItemService, userFeignClient);
+    }
+
+    @Test
+    void givenMalformedCursor_whenFindPageByStatus_thenThrowInvalidCursorException() {
+        assertThrows(InvalidCursorException.class, () -> orderService.findPageByStatus(Status.PAID, "not a cursor", 20));
+        verifyNoInteractions(orderDao);
+    }
+
+    private static Order pagedOrder(int minute, String id) {
+        OffsetDateTime creationDate = OffsetDateTime.of(2026, 1, 1, 12, minute, 0, 123_456_000, ZoneOffset.UTC);
+        return new Order(UUID.fromString(id), USER_ID, Status.PAID, creationDate, null);
+    }
 }
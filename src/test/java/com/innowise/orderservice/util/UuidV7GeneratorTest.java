@@ -0,0 +1,81 @@
+package com.innowise.orderservice.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidV7GeneratorTest {
+
+    private static final long NOW = 1_760_000_000_000L;
+
+    @Test
+    void givenFixedClock_whenGenerateId_thenEncodeVersionVariantAndTimestamp() {
+        UUID id = new UuidV7Generator(() -> NOW).generateId();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(id.getMostSignificantBits() >>> 16).isEqualTo(NOW);
+    }
+
+    @Test
+    void givenManyIdsInSameMillisecond_whenGenerateId_thenIdsStrictlyIncrease() {
+        UuidV7Generator generator = new UuidV7Generator(() -> NOW);
+
+        UUID previous = generator.generateId();
+        for (int i = 0; i < 100_000; i++) {
+            UUID next = generator.generateId();
+            assertThat(compareUnsigned(next, previous)).isPositive();
+            assertThat(next.version()).isEqualTo(7);
+            previous = next;
+        }
+    }
+
+    @Test
+    void givenClockMovingBackwards_whenGenerateId_thenKeepIncreasing() {
+        long[] now = {NOW};
+        UuidV7Generator generator = new UuidV7Generator(() -> now[0]);
+
+        UUID first = generator.generateId();
+        now[0] = NOW - 1_000;
+        UUID second = generator.generateId();
+
+        assertThat(compareUnsigned(second, first)).isPositive();
+    }
+
+    @Test
+    void givenConcurrentCallers_whenGenerateId_thenIdsAreUnique() throws Exception {
+        UuidV7Generator generator = new UuidV7Generator();
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                tasks.add(executor.submit(() -> {
+                    for (int i = 0; i < 50_000; i++) {
+                        ids.add(generator.generateId());
+                    }
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        }
+
+        assertThat(ids).hasSize(8 * 50_000);
+    }
+
+    private static int compareUnsigned(UUID left, UUID right) {
+        int result = Long.compareUnsigned(left.getMostSignificantBits(), right.getMostSignificantBits());
+        return result != 0
+                ? result
+                : Long.compareUnsigned(left.getLeastSignificantBits(), right.getLeastSignificantBits());
+    }
+}